@@ -0,0 +1,528 @@
+package dev.manere.inscript.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@code GeneratedValue} for every type annotated {@code @GenerateValue}, and lists them all in
+ * {@code META-INF/services} so {@code ValueRegistry} registers them on startup.
+ * <p>
+ * The generated code reads each component with the cheapest {@code ConfigSection} call for its type: the primitive
+ * getters for {@code int}, {@code long}, {@code double} and {@code boolean}, the array getters for primitive arrays,
+ * and the generated value of nested annotated types directly instead of through the registry.
+ */
+public final class ValueProcessor extends AbstractProcessor {
+    private static final String GENERATE_VALUE = "dev.manere.inscript.value.GenerateValue";
+    private static final String DEFAULT = "dev.manere.inscript.value.Default";
+    private static final String GENERATED_VALUE = "dev.manere.inscript.value.GeneratedValue";
+    private static final String CONFIG_SECTION = "dev.manere.inscript.ConfigSection";
+    private static final String SUFFIX = "InscriptValue";
+
+    private final Set<String> generated = new TreeSet<>();
+
+    private Elements elements;
+    private Types types;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment environment) {
+        super.init(environment);
+
+        this.elements = environment.getElementUtils();
+        this.types = environment.getTypeUtils();
+        this.filer = environment.getFiler();
+        this.messager = environment.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(GENERATE_VALUE);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        final TypeElement annotation = elements.getTypeElement(GENERATE_VALUE);
+
+        if (annotation != null) {
+            for (final TypeElement type : ElementFilter.typesIn(round.getElementsAnnotatedWith(annotation))) generate(type);
+        }
+
+        if (round.processingOver() && !generated.isEmpty()) writeServices();
+        return true;
+    }
+
+    private void generate(final TypeElement type) {
+        final Model model = model(type);
+        if (model == null) return;
+
+        final String name = generatedName(type);
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final String qualified = packageName.isEmpty() ? name : packageName + "." + name;
+
+        try (final Writer writer = filer.createSourceFile(qualified, type).openWriter()) {
+            writer.write(source(packageName, name, type, model));
+        } catch (final IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write " + qualified + ": " + e.getMessage(), type);
+            return;
+        }
+
+        generated.add(qualified);
+    }
+
+    private void writeServices() {
+        try (final Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + GENERATED_VALUE).openWriter()) {
+            for (final String name : generated) writer.write(name + "\n");
+        } catch (final IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not register generated values: " + e.getMessage());
+        }
+    }
+
+    private Model model(final TypeElement type) {
+        if (!type.getTypeParameters().isEmpty()) return error(type, "@GenerateValue types cannot be generic");
+        if (type.getModifiers().contains(Modifier.ABSTRACT) && type.getKind() != ElementKind.RECORD) return error(type, "@GenerateValue types cannot be abstract");
+
+        for (Element enclosing = type; enclosing instanceof TypeElement element; enclosing = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) return error(type, "@GenerateValue types and the types they are nested in cannot be private");
+            if (element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC) && element.getKind() == ElementKind.CLASS) {
+                return error(type, "@GenerateValue classes nested in another class must be static");
+            }
+        }
+
+        final List<Property> properties = new ArrayList<>();
+
+        if (type.getKind() == ElementKind.RECORD) {
+            for (final RecordComponentElement component : type.getRecordComponents()) {
+                final String name = component.getSimpleName().toString();
+                properties.add(new Property(name, component, component.asType(), name + "()", null));
+            }
+
+            return properties(properties) ? new Model(true, properties) : null;
+        }
+
+        if (type.getKind() != ElementKind.CLASS) return error(type, "@GenerateValue only supports records and classes");
+
+        final boolean constructible = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+            .anyMatch(constructor -> constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE));
+
+        if (!constructible) return error(type, "@GenerateValue classes need a non-private constructor without parameters");
+
+        final List<ExecutableElement> methods = ElementFilter.methodsIn(type.getEnclosedElements());
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) continue;
+
+            final String name = field.getSimpleName().toString();
+
+            if (!modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.FINAL)) {
+                properties.add(new Property(name, field, field.asType(), name, name + " = "));
+                continue;
+            }
+
+            final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            final ExecutableElement getter = accessor(methods, field.asType().getKind() == TypeKind.BOOLEAN ? "is" + capitalized : "get" + capitalized, null);
+            final ExecutableElement setter = accessor(methods, "set" + capitalized, field.asType());
+
+            if (getter == null || setter == null) return error(field, "Private and final fields of @GenerateValue classes need a non-private getter and setter");
+            properties.add(new Property(name, field, field.asType(), getter.getSimpleName() + "()", setter.getSimpleName() + "("));
+        }
+
+        return properties(properties) ? new Model(false, properties) : null;
+    }
+
+    private ExecutableElement accessor(final List<ExecutableElement> methods, final String name, final TypeMirror parameter) {
+        for (final ExecutableElement method : methods) {
+            if (!method.getSimpleName().contentEquals(name) || method.getModifiers().contains(Modifier.PRIVATE) || method.getModifiers().contains(Modifier.STATIC)) continue;
+
+            final List<? extends VariableElement> parameters = method.getParameters();
+
+            if (parameter == null ? parameters.isEmpty() : parameters.size() == 1 && types.isSameType(types.erasure(parameters.getFirst().asType()), types.erasure(parameter))) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Resolves the kind of every property, reporting each one that is not supported.
+     */
+    private boolean properties(final List<Property> properties) {
+        boolean valid = true;
+
+        for (final Property property : properties) {
+            property.kind = kind(property);
+            if (property.kind == null) valid = false;
+        }
+
+        return valid;
+    }
+
+    private Kind kind(final Property property) {
+        final TypeMirror type = property.type;
+        final String defaultValue = defaultValue(property.element);
+
+        property.nullable = !type.getKind().isPrimitive() && (nullable(property.element.getAnnotationMirrors()) || nullable(type.getAnnotationMirrors()));
+
+        if (defaultValue != null) {
+            property.defaultLiteral = literal(property, defaultValue);
+            if (property.defaultLiteral == null) return null;
+        }
+
+        switch (type.getKind()) {
+            case INT, LONG, DOUBLE, BOOLEAN -> {
+                return property.defaultLiteral == null ? Kind.BOXED : Kind.PRIMITIVE;
+            }
+            case BYTE, SHORT, FLOAT, CHAR -> {
+                return Kind.BOXED;
+            }
+            case ARRAY -> {
+                final TypeKind component = ((ArrayType) type).getComponentType().getKind();
+                if (component == TypeKind.INT || component == TypeKind.LONG || component == TypeKind.DOUBLE) return Kind.ARRAY;
+                if (component == TypeKind.BYTE) return Kind.OBJECT;
+
+                error(property.element, "Arrays of " + component.name().toLowerCase(Locale.ROOT) + " are not supported, use a List");
+                return null;
+            }
+            case DECLARED -> {
+                final DeclaredType declared = (DeclaredType) type;
+                final TypeElement element = (TypeElement) declared.asElement();
+
+                if (element.getQualifiedName().contentEquals("java.util.List")) {
+                    if (declared.getTypeArguments().size() != 1
+                        || !(declared.getTypeArguments().getFirst() instanceof DeclaredType argument)
+                        || !argument.getTypeArguments().isEmpty()) {
+                        error(property.element, "Lists must have a non-generic element type");
+                        return null;
+                    }
+
+                    if (annotated((TypeElement) argument.asElement())) {
+                        error(property.element, "Lists can only hold inline values, not sections");
+                        return null;
+                    }
+
+                    return Kind.LIST;
+                }
+
+                if (!declared.getTypeArguments().isEmpty()) {
+                    error(property.element, "Generic types other than List are not supported");
+                    return null;
+                }
+
+                return annotated(element) ? Kind.NESTED : Kind.OBJECT;
+            }
+            default -> {
+                error(property.element, "Type " + type + " is not supported");
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The Java literal for a {@code @Default}, checked against the property's type.
+     */
+    private String literal(final Property property, final String text) {
+        final TypeMirror type = property.type.getKind().isPrimitive() ? types.boxedClass((javax.lang.model.type.PrimitiveType) property.type).asType() : property.type;
+        final String name = type.getKind() == TypeKind.DECLARED ? ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString() : "";
+
+        try {
+            final Object value = switch (name) {
+                case "java.lang.String" -> text;
+                case "java.lang.Integer" -> Integer.parseInt(text);
+                case "java.lang.Long" -> Long.parseLong(text);
+                case "java.lang.Double" -> Double.parseDouble(text);
+                case "java.lang.Float" -> Float.parseFloat(text);
+                case "java.lang.Short" -> Short.parseShort(text);
+                case "java.lang.Byte" -> Byte.parseByte(text);
+                case "java.lang.Boolean" -> switch (text) {
+                    case "true" -> true;
+                    case "false" -> false;
+                    default -> throw new NumberFormatException();
+                };
+                case "java.lang.Character" -> {
+                    if (text.length() != 1) throw new NumberFormatException();
+                    yield text.charAt(0);
+                }
+                default -> null;
+            };
+
+            if (value == null) {
+                error(property.element, "@Default is only supported on primitives, their boxes and String");
+                return null;
+            }
+
+            return elements.getConstantExpression(value);
+        } catch (final NumberFormatException e) {
+            error(property.element, "\"" + text + "\" is not a valid " + name.substring(name.lastIndexOf('.') + 1));
+            return null;
+        }
+    }
+
+    private String source(final String packageName, final String name, final TypeElement type, final Model model) {
+        final String target = type.getQualifiedName().toString();
+        final StringBuilder source = new StringBuilder();
+
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+
+        source.append("@javax.annotation.processing.Generated(\"").append(ValueProcessor.class.getName()).append("\")\n");
+        source.append("public final class ").append(name).append(" implements ").append(GENERATED_VALUE).append('<').append(target).append("> {\n");
+
+        boolean constants = false;
+
+        for (final Property property : model.properties) {
+            if (property.kind != Kind.NESTED) continue;
+
+            final String nested = qualifiedGeneratedName((TypeElement) types.asElement(property.type));
+            source.append("    private static final ").append(nested).append(' ').append(constant(property)).append(" = new ").append(nested).append("();\n");
+            constants = true;
+        }
+
+        if (constants) source.append('\n');
+
+        source.append("    @Override\n");
+        source.append("    public java.lang.Class<").append(target).append("> type() {\n");
+        source.append("        return ").append(target).append(".class;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public ").append(target).append(" deserialize(final ").append(CONFIG_SECTION).append(" section) {\n");
+
+        for (final Property property : model.properties) read(source, property);
+
+        if (model.record) {
+            source.append("        return new ").append(target).append('(');
+
+            for (int i = 0; i < model.properties.size(); i++) {
+                if (i != 0) source.append(", ");
+                source.append(value(model.properties.get(i)));
+            }
+
+            source.append(");\n");
+        } else {
+            source.append("        final ").append(target).append(" $result = new ").append(target).append("();\n");
+
+            for (final Property property : model.properties) {
+                source.append("        $result.").append(property.write).append(value(property)).append(property.write.endsWith("(") ? ");\n" : ";\n");
+            }
+
+            source.append("        return $result;\n");
+        }
+
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public void serialize(final ").append(target).append(" value, final ").append(CONFIG_SECTION).append(" section) {\n");
+
+        for (final Property property : model.properties) write(source, property);
+
+        source.append("    }\n");
+        source.append("}\n");
+
+        return source.toString();
+    }
+
+    private void read(final StringBuilder source, final Property property) {
+        final String key = elements.getConstantExpression(property.name);
+        final String local = "$" + property.name;
+
+        switch (property.kind) {
+            case PRIMITIVE -> {
+                final String type = property.type.getKind().name().toLowerCase(Locale.ROOT);
+                final String getter = "get" + Character.toUpperCase(type.charAt(0)) + type.substring(1);
+
+                source.append("        final ").append(type).append(' ').append(local).append(" = section.").append(getter).append('(').append(key).append(", ").append(property.defaultLiteral).append(");\n");
+            }
+            case ARRAY -> {
+                final String component = ((ArrayType) property.type).getComponentType().getKind().name().toLowerCase(Locale.ROOT);
+                final String getter = "get" + Character.toUpperCase(component.charAt(0)) + component.substring(1) + "Array";
+
+                source.append("        final ").append(component).append("[] ").append(local).append(" = section.").append(getter).append('(').append(key).append(");\n");
+            }
+            case LIST -> {
+                final String element = className(((DeclaredType) property.type).getTypeArguments().getFirst());
+                source.append("        final java.util.List<").append(element).append("> ").append(local).append(" = section.getList(").append(key).append(", ").append(element).append(".class);\n");
+            }
+            case BOXED, OBJECT, NESTED -> {
+                final String type = className(property.type);
+
+                source.append("        final java.util.Optional<").append(type).append("> ").append(local).append(" = ");
+
+                if (property.kind == Kind.NESTED) {
+                    source.append("section.getSection(").append(key).append(").map(").append(constant(property)).append("::deserialize);\n");
+                } else {
+                    source.append("section.get(").append(key).append(", ").append(type).append(".class);\n");
+                }
+
+                if (property.defaultLiteral == null && !property.nullable) source.append("        if (").append(local).append(".isEmpty()) return null;\n");
+            }
+        }
+    }
+
+    /**
+     * The expression passing the local read for {@code property} on to the constructor or setter.
+     */
+    private String value(final Property property) {
+        final String local = "$" + property.name;
+
+        return switch (property.kind) {
+            case PRIMITIVE, ARRAY, LIST -> local;
+            case BOXED, OBJECT, NESTED -> {
+                if (property.defaultLiteral != null) yield local + ".orElse(" + property.defaultLiteral + ")";
+                yield property.nullable ? local + ".orElse(null)" : local + ".get()";
+            }
+        };
+    }
+
+    private void write(final StringBuilder source, final Property property) {
+        final String key = elements.getConstantExpression(property.name);
+
+        if (property.kind != Kind.NESTED) {
+            source.append("        section.set(").append(key).append(", value.").append(property.read).append(");\n");
+            return;
+        }
+
+        final String local = "$" + property.name;
+
+        source.append("        final ").append(className(property.type)).append(' ').append(local).append(" = value.").append(property.read).append(";\n");
+        source.append("        section.unset(").append(key).append(");\n");
+        source.append("        if (").append(local).append(" != null) ").append(constant(property)).append(".serialize(").append(local).append(", section.createSection(").append(key).append("));\n");
+    }
+
+    /**
+     * The name of a type without any type-use annotations, boxed if primitive.
+     */
+    private String className(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) return types.boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        if (type.getKind() == TypeKind.ARRAY) return ((ArrayType) type).getComponentType().getKind().name().toLowerCase(Locale.ROOT) + "[]";
+
+        return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+    }
+
+    private static String constant(final Property property) {
+        final StringBuilder constant = new StringBuilder();
+
+        for (final char c : property.name.toCharArray()) {
+            if (Character.isUpperCase(c) && !constant.isEmpty()) constant.append('_');
+            constant.append(Character.toUpperCase(c));
+        }
+
+        return constant.append("_VALUE").toString();
+    }
+
+    private String qualifiedGeneratedName(final TypeElement type) {
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        return packageName.isEmpty() ? generatedName(type) : packageName + "." + generatedName(type);
+    }
+
+    /**
+     * {@code Outer.Inner} generates {@code Outer_InnerInscriptValue} next to {@code Outer}.
+     */
+    private static String generatedName(final TypeElement type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+
+        for (Element enclosing = type.getEnclosingElement(); enclosing instanceof TypeElement outer; enclosing = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+
+        return name.append(SUFFIX).toString();
+    }
+
+    private boolean annotated(final TypeElement type) {
+        for (final AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(GENERATE_VALUE)) return true;
+        }
+
+        return false;
+    }
+
+    private static String defaultValue(final Element element) {
+        for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(DEFAULT)) continue;
+
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) return (String) entry.getValue().getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean nullable(final List<? extends AnnotationMirror> annotations) {
+        for (final AnnotationMirror mirror : annotations) {
+            if (mirror.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable")) return true;
+        }
+
+        return false;
+    }
+
+    private <T> T error(final Element element, final String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+
+    private enum Kind {
+        /**
+         * {@code int}, {@code long}, {@code double} or {@code boolean} with a default, read without boxing.
+         */
+        PRIMITIVE,
+        /**
+         * Any other primitive, or one of the above without a default, read boxed so a missing key can be told apart.
+         */
+        BOXED,
+        ARRAY,
+        LIST,
+        /**
+         * Another {@code @GenerateValue} type, read through its generated value directly.
+         */
+        NESTED,
+        /**
+         * Anything else, read through the registry.
+         */
+        OBJECT
+    }
+
+    private record Model(boolean record, List<Property> properties) {}
+
+    private static final class Property {
+        private final String name;
+        private final Element element;
+        private final TypeMirror type;
+        private final String read;
+        private final String write;
+
+        private Kind kind;
+        private String defaultLiteral;
+        private boolean nullable;
+
+        private Property(final String name, final Element element, final TypeMirror type, final String read, final String write) {
+            this.name = name;
+            this.element = element;
+            this.type = type;
+            this.read = read;
+            this.write = write;
+        }
+    }
+}
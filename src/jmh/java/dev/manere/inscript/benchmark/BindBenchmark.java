@@ -0,0 +1,87 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.ConfigSection;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.format.FileFormats;
+import dev.manere.inscript.value.GenerateValue;
+import dev.manere.inscript.value.InscriptValue;
+import dev.manere.inscript.value.RecordValue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ways of binding a record to a section: a hand-written value, the {@link GenerateValue} one and {@link RecordValue}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BindBenchmark {
+    private static final InscriptValue<Player> HANDWRITTEN = InscriptValue.<Player>builder()
+        .deserialize(section -> {
+            final Optional<String> name = section.get("name", String.class);
+            final Optional<Integer> score = section.get("score", Integer.class);
+            final Optional<Long> joined = section.get("joined", Long.class);
+            final Optional<Double> ratio = section.get("ratio", Double.class);
+            final Optional<Boolean> online = section.get("online", Boolean.class);
+            final Optional<UUID> id = section.get("id", UUID.class);
+
+            if (name.isEmpty() || score.isEmpty() || joined.isEmpty() || ratio.isEmpty() || online.isEmpty() || id.isEmpty()) return null;
+            return new Player(name.get(), score.get(), joined.get(), ratio.get(), online.get(), id.get());
+        })
+        .serialize((player, section) -> {
+            section.set("name", player.name());
+            section.set("score", player.score());
+            section.set("joined", player.joined());
+            section.set("ratio", player.ratio());
+            section.set("online", player.online());
+            section.set("id", player.id());
+        })
+        .build();
+
+    private static final InscriptValue<Player> GENERATED = new BindBenchmark_PlayerInscriptValue();
+    private static final InscriptValue<Player> BOUND = RecordValue.of(Player.class);
+
+    @Param({"HANDWRITTEN", "GENERATED", "RECORD"})
+    public String binder;
+
+    private InscriptValue<Player> value;
+    private ConfigSection section;
+    private ConfigSection target;
+    private Player player;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        value = switch (binder) {
+            case "HANDWRITTEN" -> HANDWRITTEN;
+            case "GENERATED" -> GENERATED;
+            case "RECORD" -> BOUND;
+            default -> throw new IllegalArgumentException("Unknown binder " + binder);
+        };
+
+        player = new Player("Player1", 7, 1_700_000_000_000L, 0.5, true, new UUID(1, 31));
+        section = Inscript.newInscript(FileFormats.DATASCRIPT).getRoot().createSection("player");
+        HANDWRITTEN.serialize(player, section);
+
+        target = Inscript.newInscript(FileFormats.DATASCRIPT).getRoot().createSection("player");
+    }
+
+    @Benchmark
+    public Player deserialize() {
+        return value.deserialize(section);
+    }
+
+    @Benchmark
+    public ConfigSection serialize() {
+        value.serialize(player, target);
+        return target;
+    }
+
+    @GenerateValue
+    record Player(String name, int score, long joined, double ratio, boolean online, UUID id) {}
+}
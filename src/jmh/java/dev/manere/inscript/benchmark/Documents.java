@@ -0,0 +1,134 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.format.FileFormat;
+import dev.manere.inscript.format.FileFormats;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Generates DataScript documents of a given shape and approximate size; other formats get the same tree re-saved in that format.
+ */
+final class Documents {
+    private Documents() {}
+
+    enum Shape {
+        WIDE,
+        DEEP,
+        LISTS,
+        NUMBERS,
+        COMMENTS
+    }
+
+    static byte @NotNull [] generate(final @NotNull FileFormat format, final @NotNull Shape shape, final @NotNull String size) {
+        final String dataScript = generate(shape, bytes(size));
+        if (format == FileFormats.DATASCRIPT) return dataScript.getBytes(StandardCharsets.UTF_8);
+
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(dataScript);
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try {
+            format.save(inscript.getRoot(), stream);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return stream.toByteArray();
+    }
+
+    private static int bytes(final @NotNull String size) {
+        return switch (size) {
+            case "1KB" -> 1024;
+            case "16KB" -> 16 * 1024;
+            case "1MB" -> 1024 * 1024;
+            case "50MB" -> 50 * 1024 * 1024;
+            default -> throw new IllegalArgumentException("Unknown size " + size);
+        };
+    }
+
+    @NotNull
+    private static String generate(final @NotNull Shape shape, final int bytes) {
+        final StringBuilder builder = new StringBuilder(bytes + 1024);
+
+        for (int i = 0; builder.length() < bytes; i++) {
+            switch (shape) {
+                case WIDE -> wide(builder, i);
+                case DEEP -> deep(builder, i);
+                case LISTS -> lists(builder, i);
+                case NUMBERS -> numbers(builder, i);
+                case COMMENTS -> comments(builder, i);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static void wide(final @NotNull StringBuilder builder, final int i) {
+        builder.append("player").append(i).append(" {\n");
+        builder.append("  name = 'Player").append(i).append("'\n");
+        builder.append("  score = ").append(i * 7).append('\n');
+        builder.append("  joined = ").append(1_700_000_000_000L + i).append("L\n");
+        builder.append("  ratio = ").append(i / 3.0).append("D\n");
+        builder.append("  online = ").append(i % 2 == 0).append('\n');
+        builder.append("  id = uuid(").append(new UUID(i, i * 31L)).append(")\n");
+        builder.append("}\n");
+    }
+
+    private static void deep(final @NotNull StringBuilder builder, final int i) {
+        final int depth = 32;
+
+        for (int level = 0; level < depth; level++) {
+            builder.append("  ".repeat(level)).append(level == 0 ? "chain" + i : "level" + level).append(" {\n");
+            builder.append("  ".repeat(level + 1)).append("value = ").append(level).append('\n');
+        }
+
+        for (int level = depth - 1; level >= 0; level--) {
+            builder.append("  ".repeat(level)).append("}\n");
+        }
+    }
+
+    private static void lists(final @NotNull StringBuilder builder, final int i) {
+        builder.append("list").append(i).append(" = [\n");
+
+        for (int element = 0; element < 16; element++) {
+            builder.append("  ");
+
+            switch (element % 4) {
+                case 0 -> builder.append(i + element);
+                case 1 -> builder.append('\'').append("entry").append(element).append('\'');
+                case 2 -> builder.append(element).append(".5D");
+                default -> builder.append(element % 2 == 0);
+            }
+
+            builder.append(element == 15 ? "\n" : ",\n");
+        }
+
+        builder.append("]\n");
+    }
+
+    private static void numbers(final @NotNull StringBuilder builder, final int i) {
+        builder.append("heightmap").append(i).append(" = [");
+        for (int element = 0; element < 256; element++) builder.append(element == 0 ? "" : ", ").append((i * 31 + element * 17) % 320 - 64);
+        builder.append("]\n");
+
+        builder.append("weights").append(i).append(" = [");
+        for (int element = 0; element < 32; element++) builder.append(element == 0 ? "" : ", ").append((i + element) / 64.0).append('D');
+        builder.append("]\n");
+    }
+
+    private static void comments(final @NotNull StringBuilder builder, final int i) {
+        builder.append("// Section number ").append(i).append('\n');
+        builder.append("// Second line of commentary for section ").append(i).append('\n');
+        builder.append("section").append(i).append(" { // inline section comment\n");
+        builder.append("  // The value\n");
+        builder.append("  value = ").append(i).append(" // inline value comment\n");
+        builder.append("}\n");
+    }
+}
@@ -0,0 +1,100 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.ConfigSection;
+import dev.manere.inscript.ErrorContext;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.SimpleConfigSection;
+import dev.manere.inscript.format.DataScriptFormat;
+import dev.manere.inscript.format.FileFormat;
+import dev.manere.inscript.format.FileFormats;
+import dev.manere.inscript.format.RenderCache;
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.FrozenSectionNode;
+import dev.manere.inscript.node.SectionNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FormatBenchmark {
+    @Param({"DATASCRIPT", "DATASCRIPT_LAZY", "DATASCRIPT_PARALLEL", "YAML", "BINARY"})
+    public String format;
+
+    @Param({"WIDE", "DEEP", "LISTS", "NUMBERS", "COMMENTS"})
+    public String shape;
+
+    @Param({"1KB", "1MB", "50MB"})
+    public String size;
+
+    private FileFormat fileFormat;
+    private byte[] document;
+    private Inscript loaded;
+
+    private ConfigSection edited;
+    private FrozenSectionNode saved;
+    private RenderCache cache;
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        fileFormat = switch (format) {
+            case "YAML" -> FileFormats.YAML;
+            case "BINARY" -> FileFormats.BINARY;
+            case "DATASCRIPT_LAZY" -> DataScriptFormat.lazy();
+            case "DATASCRIPT_PARALLEL" -> DataScriptFormat.parallel();
+            default -> FileFormats.DATASCRIPT;
+        };
+
+        document = Documents.generate(fileFormat, Documents.Shape.valueOf(shape), size);
+        loaded = load();
+
+        final ConfigNode first = loaded.getRoot().getSection().getChildren().iterator().next();
+        edited = first instanceof SectionNode section ? new SimpleConfigSection(section) : loaded.getRoot();
+        loaded.getRoot().getSection().markClean();
+        saved = FrozenSectionNode.freeze(loaded.getRoot().getSection(), null);
+        cache = RenderCache.newCache();
+        fileFormat.save(new SimpleConfigSection(saved), OutputStream.nullOutputStream(), cache);
+    }
+
+    @Benchmark
+    public Inscript load() throws IOException {
+        final Inscript inscript = Inscript.newInscript(fileFormat);
+        final List<ErrorContext> errors = fileFormat.load(new ByteArrayInputStream(document), inscript);
+        if (!errors.isEmpty()) throw new IllegalStateException(errors.get(0).buildDefault());
+
+        return inscript;
+    }
+
+    @Benchmark
+    public byte[] save() throws IOException {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(document.length);
+        fileFormat.save(loaded.getRoot(), stream);
+
+        return stream.toByteArray();
+    }
+
+    /**
+     * Changes one key in the first section, then saves through a render cache the way {@link Inscript#saveToDisk()} does.
+     */
+    @Benchmark
+    public byte[] saveAfterEdit() throws IOException {
+        edited.set("edited", ++edits);
+        saved = FrozenSectionNode.freezeDirty(loaded.getRoot().getSection(), saved);
+        loaded.getRoot().getSection().markClean();
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(document.length);
+        fileFormat.save(new SimpleConfigSection(saved), stream, cache);
+
+        return stream.toByteArray();
+    }
+}
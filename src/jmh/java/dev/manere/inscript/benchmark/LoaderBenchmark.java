@@ -0,0 +1,69 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.InscriptLoader;
+import dev.manere.inscript.format.FileFormats;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup-style loading of many files from disk, one at a time versus through {@link InscriptLoader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoaderBenchmark {
+    @Param({"400"})
+    public int files;
+
+    @Param({"16KB"})
+    public String size;
+
+    private Path directory;
+    private List<Path> paths;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("inscript-loader");
+        paths = new ArrayList<>(files);
+
+        final byte[] document = Documents.generate(FileFormats.DATASCRIPT, Documents.Shape.WIDE, size);
+        for (int i = 0; i < files; i++) paths.add(Files.write(directory.resolve("config" + i + ".ds"), document));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            for (final Path path : walk.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    public List<Inscript> sequential() {
+        final List<Inscript> loaded = new ArrayList<>(paths.size());
+
+        for (final Path path : paths) {
+            final Inscript inscript = Inscript.newInscript(path);
+            inscript.loadFromDisk();
+            loaded.add(inscript);
+        }
+
+        return loaded;
+    }
+
+    @Benchmark
+    public InscriptLoader.Result loadAll() {
+        return InscriptLoader.newLoader().loadAll(paths);
+    }
+}
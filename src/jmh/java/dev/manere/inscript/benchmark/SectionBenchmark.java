@@ -0,0 +1,85 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.ConfigPath;
+import dev.manere.inscript.ConfigSection;
+import dev.manere.inscript.ConfigValue;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.format.FileFormats;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SectionBenchmark {
+    private static final ConfigPath DOTTED_PATH = ConfigPath.of("server.limits.worlds.overworld.seed");
+
+    private ConfigSection root;
+    private ConfigValue<Long> boundDotted;
+    private ConfigValue<Long> boundPublished;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        root = inscript.getRoot();
+
+        for (int i = 0; i < 1_000; i++) root.set("key" + i, i);
+        root.set("server.limits.worlds.overworld.seed", 12345L);
+
+        boundDotted = root.bind(DOTTED_PATH, Long.class, 0L);
+
+        inscript.publish();
+        boundPublished = inscript.bind(DOTTED_PATH, Long.class, 0L);
+    }
+
+    @Benchmark
+    public Optional<Integer> getFlat() {
+        return root.get("key500", Integer.class);
+    }
+
+    @Benchmark
+    public Optional<Long> getDotted() {
+        return root.get("server.limits.worlds.overworld.seed", Long.class);
+    }
+
+    @Benchmark
+    public Optional<Long> getPath() {
+        return root.get(DOTTED_PATH, Long.class);
+    }
+
+    @Benchmark
+    public Long getBoundDotted() {
+        return boundDotted.get();
+    }
+
+    @Benchmark
+    public Long getBoundPublished() {
+        return boundPublished.get();
+    }
+
+    @Benchmark
+    public int getIntFlat() {
+        return root.getInt("key500", 0);
+    }
+
+    @Benchmark
+    public long getLongDotted() {
+        return root.getLong("server.limits.worlds.overworld.seed", 0);
+    }
+
+    @Benchmark
+    public ConfigSection setFlat() {
+        return root.set("key500", counter++);
+    }
+
+    @Benchmark
+    public ConfigSection setDotted() {
+        return root.set("server.limits.worlds.overworld.seed", (long) counter++);
+    }
+}
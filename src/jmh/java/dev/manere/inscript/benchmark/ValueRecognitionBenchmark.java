@@ -0,0 +1,34 @@
+package dev.manere.inscript.benchmark;
+
+import dev.manere.inscript.value.ValueRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValueRecognitionBenchmark {
+    @Param({
+        "true",
+        "13B",
+        "255S",
+        "100",
+        "10.5D",
+        "10.00F",
+        "100000L",
+        "'A'C",
+        "uuid(4ad4c78c-d4a4-4d25-91cf-4f001efc46c0)",
+        "base64(SGVsbG8gV29ybGQ=)",
+        "'Hello World'"
+    })
+    public String token;
+
+    @Benchmark
+    public Object recognize() {
+        return ValueRegistry.REGISTRY.recognize(token);
+    }
+}
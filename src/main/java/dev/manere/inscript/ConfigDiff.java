@@ -0,0 +1,145 @@
+package dev.manere.inscript;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * The changes between two config trees, one entry per added, removed, changed or re-commented path.
+ * Added and removed sections are reported once, not once per key inside them.
+ */
+public final class ConfigDiff {
+    private static final ConfigDiff EMPTY = new ConfigDiff(List.of());
+
+    private final List<Change> changes;
+
+    private ConfigDiff(final @NotNull List<Change> changes) {
+        this.changes = changes;
+    }
+
+    @NotNull
+    public static ConfigDiff between(final @NotNull ConfigSection before, final @NotNull ConfigSection after) {
+        return between(before.getSection(), after.getSection());
+    }
+
+    /**
+     * Walks both trees together in time linear in their size. Identical subtrees are skipped outright, which for
+     * consecutive snapshots is every section that was not touched in between.
+     */
+    @NotNull
+    public static ConfigDiff between(final @NotNull SectionNode before, final @NotNull SectionNode after) {
+        if (unchanged(before, after)) return EMPTY;
+
+        final List<Change> changes = new ArrayList<>();
+        diff(before, after, "", changes);
+
+        return changes.isEmpty() ? EMPTY : new ConfigDiff(Collections.unmodifiableList(changes));
+    }
+
+    @NotNull
+    @Unmodifiable
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    @NotNull
+    @Unmodifiable
+    public Set<ConfigPath> getPaths() {
+        final Set<ConfigPath> paths = new LinkedHashSet<>(changes.size() * 4 / 3 + 1);
+        for (final Change change : changes) paths.add(change.path());
+
+        return Collections.unmodifiableSet(paths);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * Whether anything at or below {@code prefix} changed, including an ancestor of it being added, removed or replaced.
+     */
+    public boolean affects(final @NotNull ConfigPath prefix) {
+        for (final Change change : changes) {
+            if (change.affects(prefix)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * The changes that {@link #affects(ConfigPath)} {@code prefix}.
+     */
+    @NotNull
+    public ConfigDiff under(final @NotNull ConfigPath prefix) {
+        List<Change> matching = null;
+
+        for (final Change change : changes) {
+            if (!change.affects(prefix)) continue;
+
+            if (matching == null) matching = new ArrayList<>();
+            matching.add(change);
+        }
+
+        if (matching == null) return EMPTY;
+        return matching.size() == changes.size() ? this : new ConfigDiff(Collections.unmodifiableList(matching));
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return changes.toString();
+    }
+
+    private static void diff(final @NotNull SectionNode before, final @NotNull SectionNode after, final @NotNull String prefix, final @NotNull List<Change> changes) {
+        for (final ConfigNode node : before.getChildren()) {
+            final ConfigNode other = after.getChild(node.getKey());
+            if (node == other) continue;
+
+            final String path = prefix + node.getKey();
+
+            if (other == null) {
+                changes.add(new Change(ConfigPath.parse(path), Type.REMOVED, node, null));
+            } else if (node instanceof SectionNode section && other instanceof SectionNode otherSection) {
+                if (unchanged(section, otherSection)) continue;
+                if (!sameComments(section, otherSection)) changes.add(new Change(ConfigPath.parse(path), Type.COMMENTED, node, other));
+
+                diff(section, otherSection, path + ".", changes);
+            } else if (node instanceof ScalarNode<?> scalar && other instanceof ScalarNode<?> otherScalar && Objects.deepEquals(scalar.getValue(), otherScalar.getValue())) {
+                if (!sameComments(node, other)) changes.add(new Change(ConfigPath.parse(path), Type.COMMENTED, node, other));
+            } else {
+                changes.add(new Change(ConfigPath.parse(path), Type.CHANGED, node, other));
+            }
+        }
+
+        for (final ConfigNode node : after.getChildren()) {
+            if (!before.hasChild(node.getKey())) changes.add(new Change(ConfigPath.parse(prefix + node.getKey()), Type.ADDED, null, node));
+        }
+    }
+
+    private static boolean unchanged(final @NotNull SectionNode before, final @NotNull SectionNode after) {
+        // Equal hashes do not prove equal trees, so only shared sections are skipped.
+        return before == after;
+    }
+
+    private static boolean sameComments(final @NotNull ConfigNode before, final @NotNull ConfigNode after) {
+        return before.getComments().equals(after.getComments()) && before.getInlineComments().equals(after.getInlineComments());
+    }
+
+    public enum Type {
+        ADDED,
+        REMOVED,
+        CHANGED,
+        COMMENTED
+    }
+
+    public record Change(@NotNull ConfigPath path, @NotNull Type type, @Nullable ConfigNode before, @Nullable ConfigNode after) {
+        public boolean affects(final @NotNull ConfigPath prefix) {
+            return path.startsWith(prefix) || type != Type.COMMENTED && prefix.startsWith(path);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package dev.manere.inscript;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dotted key such as {@code limits.maxPlayers}, split once up front.
+ * Keep paths that are looked up often in constants created with {@link #of(String)}.
+ */
+public final class ConfigPath {
+    private static final Map<String, ConfigPath> INTERNED = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] parts;
+
+    private ConfigPath(final @NotNull String path, final @NotNull String @NotNull [] parts) {
+        this.path = path;
+        this.parts = parts;
+    }
+
+    @NotNull
+    public static ConfigPath of(final @NotNull String path) {
+        final ConfigPath found = INTERNED.get(path);
+        if (found != null) return found;
+
+        return INTERNED.computeIfAbsent(path, ConfigPath::parse);
+    }
+
+    /**
+     * Parses without interning, for one-off keys that should not stay in the {@link #of(String)} cache.
+     */
+    @NotNull
+    public static ConfigPath parse(final @NotNull String path) {
+        int dot = path.indexOf('.');
+        if (dot == -1) return new ConfigPath(path, new String[] {path});
+
+        // Same segments as String#split("\\."): empty inner segments stay, trailing ones are dropped.
+        final List<String> parts = new ArrayList<>();
+        int start = 0;
+
+        while (dot != -1) {
+            parts.add(path.substring(start, dot));
+            start = dot + 1;
+            dot = path.indexOf('.', start);
+        }
+
+        parts.add(path.substring(start));
+
+        int size = parts.size();
+        while (size > 0 && parts.get(size - 1).isEmpty()) size--;
+
+        if (size == 0) throw new IllegalArgumentException("Invalid config path: '" + path + "'");
+        return new ConfigPath(path, parts.subList(0, size).toArray(String[]::new));
+    }
+
+    public int size() {
+        return parts.length;
+    }
+
+    @NotNull
+    public String get(final int index) {
+        return parts[index];
+    }
+
+    @NotNull
+    public String getKey() {
+        return parts[parts.length - 1];
+    }
+
+    public boolean isNested() {
+        return parts.length > 1;
+    }
+
+    public boolean startsWith(final @NotNull ConfigPath prefix) {
+        if (prefix.parts.length > parts.length) return false;
+
+        for (int i = 0; i < prefix.parts.length; i++) {
+            if (!parts[i].equals(prefix.parts[i])) return false;
+        }
+
+        return true;
+    }
+
+    @Nullable
+    public ConfigNode find(final @NotNull SectionNode root) {
+        final SectionNode parent = findParent(root);
+        return parent == null ? null : parent.getChild(getKey());
+    }
+
+    @Nullable
+    public SectionNode findParent(final @NotNull SectionNode root) {
+        SectionNode current = root;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (!(current.getChild(parts[i]) instanceof SectionNode next)) return null;
+            current = next;
+        }
+
+        return current;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        return this == o || o instanceof ConfigPath other && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -2,9 +2,12 @@ package dev.manere.inscript;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import dev.manere.inscript.node.ConfigNode;
-import dev.manere.inscript.node.RootSectionNode;
 import dev.manere.inscript.node.ScalarNode;
 import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.DoubleList;
+import dev.manere.inscript.value.IntList;
+import dev.manere.inscript.value.LongList;
+import dev.manere.inscript.value.ValueRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -29,104 +32,227 @@ public interface ConfigSection {
     @NotNull
     @Unmodifiable
     default Set<String> getKeys() {
-        final Set<String> keys = new LinkedHashSet<>();
-
-        for (final ConfigNode node : getChildren()) {
-            keys.add(node.getKey());
-        }
-
-        return keys;
+        return new LinkedHashSet<>(getSection().getChildMap().keySet());
     }
 
     default boolean isRoot() {
-        return getSection() instanceof RootSectionNode;
+        return getSection().isRoot();
     }
 
     @NotNull
     default Optional<ConfigNode> getNode(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return Optional.empty();
-                current = next.get();
-            }
-            return current.getNode(parts[parts.length - 1]);
-        }
+        return Optional.ofNullable(find(key));
+    }
 
-        for (final ConfigNode node : getChildren()) if (node.getKey().equals(key)) return Optional.of(node);
-        return Optional.empty();
+    @NotNull
+    default Optional<ConfigNode> getNode(final @NotNull ConfigPath path) {
+        return Optional.ofNullable(path.find(getSection()));
     }
 
     default boolean isSection(final @NotNull String key) {
-        return getNode(key).orElse(null) instanceof SectionNode;
+        return find(key) instanceof SectionNode;
+    }
+
+    default boolean isSection(final @NotNull ConfigPath path) {
+        return path.find(getSection()) instanceof SectionNode;
     }
 
     default boolean isScalar(final @NotNull String key) {
-        return getNode(key).orElse(null) instanceof ScalarNode<?>;
+        return find(key) instanceof ScalarNode<?>;
+    }
+
+    default boolean isScalar(final @NotNull ConfigPath path) {
+        return path.find(getSection()) instanceof ScalarNode<?>;
     }
 
     @NotNull
     SectionNode getSection();
 
+    /**
+     * The registry custom types in this section are read and written with.
+     */
+    @NotNull
+    default ValueRegistry getValueRegistry() {
+        return ValueRegistry.REGISTRY;
+    }
+
     @NotNull
     Optional<ConfigSection> getSection(final @NotNull String key);
 
+    @NotNull
+    default Optional<ConfigSection> getSection(final @NotNull ConfigPath path) {
+        return path.find(getSection()) instanceof SectionNode section ? Optional.of(new SimpleConfigSection(section, getValueRegistry())) : Optional.empty();
+    }
+
     @NotNull
     ConfigSection createSection(final @NotNull String key);
 
+    @NotNull
+    default ConfigSection createSection(final @NotNull ConfigPath path) {
+        ConfigSection current = this;
+        for (int i = 0; i < path.size(); i++) current = current.createSection(path.get(i));
+        return current;
+    }
+
     @NotNull
     @CanIgnoreReturnValue
     default ConfigSection section(final @NotNull String key, final @NotNull Consumer<ConfigSection> handler) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (String part : parts) {
-                current = current.getSection(part).orElse(current.createSection(part));
-            }
-            handler.accept(current);
-            return this;
-        }
+        handler.accept(createSection(key));
+        return this;
+    }
 
-        handler.accept(getSection(key).orElse(createSection(key)));
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection section(final @NotNull ConfigPath path, final @NotNull Consumer<ConfigSection> handler) {
+        handler.accept(createSection(path));
         return this;
     }
 
     @NotNull
     <T> Optional<T> get(final @NotNull String key, final @NotNull Class<? extends T> ignoredType);
 
+    @NotNull
+    default <T> Optional<T> get(final @NotNull ConfigPath path, final @NotNull Class<? extends T> ignoredType) {
+        final SectionNode parent = path.findParent(getSection());
+        if (parent == null) return Optional.empty();
+
+        return (parent == getSection() ? this : new SimpleConfigSection(parent, getValueRegistry())).get(path.getKey(), ignoredType);
+    }
+
+    /**
+     * A cached view of {@code path} in this tree, for values read far more often than they change. Not safe to read while
+     * another thread edits the tree; use {@link Inscript#bind(ConfigPath, Class, Object)} for that. See {@link ConfigValue}.
+     */
+    @NotNull
+    default <T> ConfigValue<T> bind(final @NotNull String path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        return bind(ConfigPath.parse(path), type, defaultValue);
+    }
+
+    @NotNull
+    default <T> ConfigValue<T> bind(final @NotNull ConfigPath path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        return new ConfigValue<>(getSection(), getValueRegistry(), path, type, defaultValue);
+    }
+
+    /**
+     * The {@code int} at {@code key}, or {@code defaultValue} if there is none. Never boxes or throws; a plain key never
+     * allocates, and dotted keys only allocate their segments. Use {@link #getInt(ConfigPath, int)} for hot dotted keys.
+     */
+    default int getInt(final @NotNull String key, final int defaultValue) {
+        return lookup(key) instanceof ScalarNode<?> scalar ? scalar.getInt(defaultValue) : defaultValue;
+    }
+
+    default int getInt(final @NotNull ConfigPath path, final int defaultValue) {
+        return path.find(getSection()) instanceof ScalarNode<?> scalar ? scalar.getInt(defaultValue) : defaultValue;
+    }
+
+    default long getLong(final @NotNull String key, final long defaultValue) {
+        return lookup(key) instanceof ScalarNode<?> scalar ? scalar.getLong(defaultValue) : defaultValue;
+    }
+
+    default long getLong(final @NotNull ConfigPath path, final long defaultValue) {
+        return path.find(getSection()) instanceof ScalarNode<?> scalar ? scalar.getLong(defaultValue) : defaultValue;
+    }
+
+    default double getDouble(final @NotNull String key, final double defaultValue) {
+        return lookup(key) instanceof ScalarNode<?> scalar ? scalar.getDouble(defaultValue) : defaultValue;
+    }
+
+    default double getDouble(final @NotNull ConfigPath path, final double defaultValue) {
+        return path.find(getSection()) instanceof ScalarNode<?> scalar ? scalar.getDouble(defaultValue) : defaultValue;
+    }
+
+    default boolean getBoolean(final @NotNull String key, final boolean defaultValue) {
+        return lookup(key) instanceof ScalarNode<?> scalar ? scalar.getBoolean(defaultValue) : defaultValue;
+    }
+
+    default boolean getBoolean(final @NotNull ConfigPath path, final boolean defaultValue) {
+        return path.find(getSection()) instanceof ScalarNode<?> scalar ? scalar.getBoolean(defaultValue) : defaultValue;
+    }
+
     @NotNull
     <T> List<T> getList(final @NotNull String key, final @NotNull Class<? extends T> ignoredType);
 
+    @NotNull
+    default <T> List<T> getList(final @NotNull ConfigPath path, final @NotNull Class<? extends T> ignoredType) {
+        final SectionNode parent = path.findParent(getSection());
+        if (parent == null) return Collections.synchronizedList(new ArrayList<>());
+
+        return (parent == getSection() ? this : new SimpleConfigSection(parent, getValueRegistry())).getList(path.getKey(), ignoredType);
+    }
+
+    /**
+     * The list at {@code key} as {@code int}s, copied out of an {@link IntList} without boxing. Missing keys and lists
+     * holding anything but {@link Integer}s give an empty array.
+     */
+    default int @NotNull [] getIntArray(final @NotNull String key) {
+        return toIntArray(lookup(key));
+    }
+
+    default int @NotNull [] getIntArray(final @NotNull ConfigPath path) {
+        return toIntArray(path.find(getSection()));
+    }
+
+    default long @NotNull [] getLongArray(final @NotNull String key) {
+        return toLongArray(lookup(key));
+    }
+
+    default long @NotNull [] getLongArray(final @NotNull ConfigPath path) {
+        return toLongArray(path.find(getSection()));
+    }
+
+    default double @NotNull [] getDoubleArray(final @NotNull String key) {
+        return toDoubleArray(lookup(key));
+    }
+
+    default double @NotNull [] getDoubleArray(final @NotNull ConfigPath path) {
+        return toDoubleArray(path.find(getSection()));
+    }
+
     @NotNull
     @CanIgnoreReturnValue
     <T> ConfigSection set(final @NotNull String key, final @Nullable T value);
 
+    @NotNull
+    @CanIgnoreReturnValue
+    default <T> ConfigSection set(final @NotNull ConfigPath path, final @Nullable T value) {
+        ConfigSection parent = this;
+        for (int i = 0; i < path.size() - 1; i++) parent = parent.createSection(path.get(i));
+
+        parent.set(path.getKey(), value);
+        return this;
+    }
+
     default boolean has(final @NotNull String key) {
         return contains(key);
     }
 
+    default boolean has(final @NotNull ConfigPath path) {
+        return contains(path);
+    }
+
     default boolean contains(final @NotNull String key) {
-        return getNode(key).isPresent();
+        return find(key) != null;
+    }
+
+    default boolean contains(final @NotNull ConfigPath path) {
+        return path.find(getSection()) != null;
     }
 
     @NotNull
     @CanIgnoreReturnValue
     default ConfigSection unset(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return this;
-                current = next.get();
-            }
-            current.unset(parts[parts.length - 1]);
-            return this;
-        }
+        if (key.indexOf('.') != -1) return unset(ConfigPath.parse(key));
+
+        getSection().removeChild(key);
+        return this;
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection unset(final @NotNull ConfigPath path) {
+        final SectionNode parent = path.findParent(getSection());
+        if (parent != null) parent.removeChild(path.getKey());
 
-        getNode(key).ifPresent(node -> getSection().getChildren().remove(node));
         return this;
     }
 
@@ -141,7 +267,7 @@ public interface ConfigSection {
     @CanIgnoreReturnValue
     default ConfigSection forEachSection(final @NotNull Consumer<ConfigSection> sectionConsumer) {
         for (final ConfigNode node : getSection().getChildren()) {
-            getSection(node.getKey()).ifPresent(sectionConsumer);
+            if (node instanceof SectionNode section) sectionConsumer.accept(new SimpleConfigSection(section, getValueRegistry()));
         }
 
         return this;
@@ -164,7 +290,7 @@ public interface ConfigSection {
             if (node instanceof ScalarNode<?> scalar) {
                 scalarConsumer.accept(scalar);
             } else if (node instanceof SectionNode section) {
-                sectionConsumer.accept(new SimpleConfigSection(section));
+                sectionConsumer.accept(new SimpleConfigSection(section, getValueRegistry()));
             }
         }
 
@@ -174,43 +300,27 @@ public interface ConfigSection {
     @NotNull
     @CanIgnoreReturnValue
     default ConfigSection comment(final @NotNull String key, final @NotNull Collection<? extends String> comments) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return this;
-                current = next.get();
-            }
-            current.comment(parts[parts.length - 1], comments);
-            return this;
-        }
-
-        getNode(key).ifPresent(node -> {
-            node.getComments().clear();
-            node.getComments().addAll(comments);
-        });
+        replaceComments(find(key), comments, false);
+        return this;
+    }
 
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection comment(final @NotNull ConfigPath path, final @NotNull Collection<? extends String> comments) {
+        replaceComments(path.find(getSection()), comments, false);
         return this;
     }
 
     @NotNull
     default Collection<String> getComments(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return Set.of();
-                current = next.get();
-            }
-            return current.getComments(parts[parts.length - 1]);
-        }
-
-        final ConfigNode node = getNode(key).orElse(null);
-        if (node == null) return Set.of();
+        final ConfigNode node = find(key);
+        return node == null ? Set.of() : Set.copyOf(node.getComments());
+    }
 
-        return Set.copyOf(node.getComments());
+    @NotNull
+    default Collection<String> getComments(final @NotNull ConfigPath path) {
+        final ConfigNode node = path.find(getSection());
+        return node == null ? Set.of() : Set.copyOf(node.getComments());
     }
 
     @NotNull
@@ -221,24 +331,21 @@ public interface ConfigSection {
 
     @NotNull
     @CanIgnoreReturnValue
-    default ConfigSection inlineComment(final @NotNull String key, final @NotNull Collection<? extends String> comments) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return this;
-                current = next.get();
-            }
-            current.inlineComment(parts[parts.length - 1], comments);
-            return this;
-        }
+    default ConfigSection comment(final @NotNull ConfigPath path, final @NotNull String @NotNull ... comments) {
+        return comment(path, Arrays.asList(comments));
+    }
 
-        getNode(key).ifPresent(node -> {
-            node.getInlineComments().clear();
-            node.getInlineComments().addAll(comments);
-        });
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection inlineComment(final @NotNull String key, final @NotNull Collection<? extends String> comments) {
+        replaceComments(find(key), comments, true);
+        return this;
+    }
 
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection inlineComment(final @NotNull ConfigPath path, final @NotNull Collection<? extends String> comments) {
+        replaceComments(path.find(getSection()), comments, true);
         return this;
     }
 
@@ -248,28 +355,112 @@ public interface ConfigSection {
         return inlineComment(key, Arrays.asList(comments));
     }
 
+    @NotNull
+    @CanIgnoreReturnValue
+    default ConfigSection inlineComment(final @NotNull ConfigPath path, final @NotNull String @NotNull ... comments) {
+        return inlineComment(path, Arrays.asList(comments));
+    }
+
     @NotNull
     @Unmodifiable
     default Collection<String> getInlineComments(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return Set.of();
-                current = next.get();
-            }
-            return current.getInlineComments(parts[parts.length - 1]);
-        }
-
-        final ConfigNode node = getNode(key).orElse(null);
-        if (node == null) return Set.of();
+        final ConfigNode node = find(key);
+        return node == null ? Set.of() : Set.copyOf(node.getInlineComments());
+    }
 
-        return Set.copyOf(node.getInlineComments());
+    @NotNull
+    @Unmodifiable
+    default Collection<String> getInlineComments(final @NotNull ConfigPath path) {
+        final ConfigNode node = path.find(getSection());
+        return node == null ? Set.of() : Set.copyOf(node.getInlineComments());
     }
 
     @NotNull
     default String getKey() {
         return getSection().getKey();
     }
+
+    @Nullable
+    private ConfigNode find(final @NotNull String key) {
+        return key.indexOf('.') == -1 ? getSection().getChild(key) : ConfigPath.parse(key).find(getSection());
+    }
+
+    /**
+     * Walks a dotted key segment by segment, the way {@link ConfigPath#parse(String)} splits it, without caching a path.
+     */
+    @Nullable
+    private ConfigNode lookup(final @NotNull String key) {
+        int dot = key.indexOf('.');
+        if (dot == -1) return getSection().getChild(key);
+
+        int end = key.length();
+        while (end > 0 && key.charAt(end - 1) == '.') end--;
+        if (end == 0) return null;
+
+        SectionNode current = getSection();
+        int start = 0;
+
+        while (dot != -1 && dot < end) {
+            if (!(current.getChild(key.substring(start, dot)) instanceof SectionNode next)) return null;
+
+            current = next;
+            start = dot + 1;
+            dot = key.indexOf('.', start);
+        }
+
+        return current.getChild(key.substring(start, end));
+    }
+
+    private static int @NotNull [] toIntArray(final @Nullable ConfigNode node) {
+        if (!(node instanceof ScalarNode<?> scalar)) return new int[0];
+        if (scalar.getValue() instanceof IntList list) return list.toIntArray();
+        if (!(scalar.getValue() instanceof List<?> list)) return new int[0];
+
+        final int[] values = new int[list.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            if (!(list.get(i) instanceof Integer value)) return new int[0];
+            values[i] = value;
+        }
+
+        return values;
+    }
+
+    private static long @NotNull [] toLongArray(final @Nullable ConfigNode node) {
+        if (!(node instanceof ScalarNode<?> scalar)) return new long[0];
+        if (scalar.getValue() instanceof LongList list) return list.toLongArray();
+        if (!(scalar.getValue() instanceof List<?> list)) return new long[0];
+
+        final long[] values = new long[list.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            if (!(list.get(i) instanceof Long value)) return new long[0];
+            values[i] = value;
+        }
+
+        return values;
+    }
+
+    private static double @NotNull [] toDoubleArray(final @Nullable ConfigNode node) {
+        if (!(node instanceof ScalarNode<?> scalar)) return new double[0];
+        if (scalar.getValue() instanceof DoubleList list) return list.toDoubleArray();
+        if (!(scalar.getValue() instanceof List<?> list)) return new double[0];
+
+        final double[] values = new double[list.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            if (!(list.get(i) instanceof Double value)) return new double[0];
+            values[i] = value;
+        }
+
+        return values;
+    }
+
+    private static void replaceComments(final @Nullable ConfigNode node, final @NotNull Collection<? extends String> comments, final boolean inline) {
+        if (node == null) return;
+
+        final Set<String> target = inline ? node.getInlineComments() : node.getComments();
+        target.clear();
+        target.addAll(comments);
+    }
 }
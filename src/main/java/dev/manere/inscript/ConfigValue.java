@@ -0,0 +1,138 @@
+package dev.manere.inscript;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.ValueRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A typed view of one path, obtained once with {@link Inscript#bind(ConfigPath, Class, Object)} and read many times.
+ * <p>
+ * A view bound to an Inscript reads its {@linkplain Inscript#getSnapshot() published snapshot} and caches the decoded
+ * value against that snapshot, so a read is one reference comparison until a {@link Inscript#publish() publish}, update
+ * or reload swaps in a new one. Any thread can read it without locking.
+ * <p>
+ * A view bound to a section with {@link ConfigSection#bind(ConfigPath, Class, Object)} instead caches the value together
+ * with the {@linkplain SectionNode#getModCount() modification counts} of the sections it was found through, and of every
+ * section below it for values decoded from a section, so it sees edits to the live tree as soon as they are made.
+ * Like that tree, it must not be read while another thread edits it.
+ */
+public final class ConfigValue<T> {
+    private static final SectionNode[] NO_SECTIONS = new SectionNode[0];
+    private static final int[] NO_COUNTS = new int[0];
+
+    private final @Nullable Inscript inscript;
+    private final @Nullable SectionNode root;
+    private final ValueRegistry registry;
+    private final ConfigPath path;
+    private final Class<? extends T> type;
+    private final T defaultValue;
+
+    private volatile Cached<T> cached;
+
+    ConfigValue(final @NotNull Inscript inscript, final @NotNull ConfigPath path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        this(inscript, null, inscript.getValueRegistry(), path, type, defaultValue);
+    }
+
+    ConfigValue(final @NotNull SectionNode root, final @NotNull ValueRegistry registry, final @NotNull ConfigPath path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        this(null, root, registry, path, type, defaultValue);
+    }
+
+    private ConfigValue(final @Nullable Inscript inscript, final @Nullable SectionNode root, final @NotNull ValueRegistry registry, final @NotNull ConfigPath path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        this.inscript = inscript;
+        this.root = root;
+        this.registry = registry;
+        this.path = path;
+        this.type = type;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * The value at the path, or the default if it is missing or not of the bound type.
+     */
+    @NotNull
+    public T get() {
+        final Cached<T> cached = this.cached;
+
+        if (inscript != null) {
+            final SectionNode snapshot = inscript.getSnapshot().getSection();
+            return cached != null && cached.source == snapshot ? cached.value : refresh(snapshot);
+        }
+
+        return cached != null && cached.isValid() ? cached.value : refresh(root);
+    }
+
+    @NotNull
+    public ConfigPath getPath() {
+        return path;
+    }
+
+    @NotNull
+    public T getDefault() {
+        return defaultValue;
+    }
+
+    /**
+     * Drops the cached value, for changes the cache cannot see such as edits to a registered value's decoding.
+     */
+    public void invalidate() {
+        cached = null;
+    }
+
+    @NotNull
+    private T refresh(final @NotNull SectionNode source) {
+        final T value = new SimpleConfigSection(source, registry).<T>get(path, type).orElse(defaultValue);
+
+        if (inscript != null) {
+            // Snapshots never change, so the snapshot itself is all there is to watch.
+            cached = new Cached<>(value, source, NO_SECTIONS, NO_COUNTS);
+            return value;
+        }
+
+        // Read the counts after decoding, which may have loaded lazy sections along the way.
+        final List<SectionNode> sections = new ArrayList<>(path.size());
+        SectionNode current = source;
+
+        for (int i = 0; i < path.size(); i++) {
+            sections.add(current);
+
+            final ConfigNode child = current.getChild(path.get(i));
+            if (!(child instanceof SectionNode next)) break;
+
+            if (i == path.size() - 1) {
+                watch(next, sections);
+            } else {
+                current = next;
+            }
+        }
+
+        final SectionNode[] watched = sections.toArray(SectionNode[]::new);
+        final int[] counts = new int[watched.length];
+        for (int i = 0; i < watched.length; i++) counts[i] = watched[i].getModCount();
+
+        cached = new Cached<>(value, source, watched, counts);
+        return value;
+    }
+
+    private static void watch(final @NotNull SectionNode section, final @NotNull List<SectionNode> sections) {
+        sections.add(section);
+
+        for (final ConfigNode child : section.getChildren()) {
+            if (child instanceof SectionNode nested) watch(nested, sections);
+        }
+    }
+
+    private record Cached<T>(@NotNull T value, @NotNull SectionNode source, @NotNull SectionNode @NotNull [] sections, int @NotNull [] counts) {
+        private boolean isValid() {
+            for (int i = 0; i < sections.length; i++) {
+                if (sections[i].getModCount() != counts[i]) return false;
+            }
+
+            return true;
+        }
+    }
+}
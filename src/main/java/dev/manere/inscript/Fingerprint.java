@@ -0,0 +1,44 @@
+package dev.manere.inscript;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+/**
+ * The size and CRC32C of a file's contents, which {@link InscriptWatcher} compares to tell real changes,
+ * and an Inscript's own saves, apart from events that leave the contents alone.
+ */
+record Fingerprint(long size, long hash) {
+    /**
+     * Always hashes the file: a rewrite of the same size within the file system's timestamp granularity
+     * leaves size and modification time unchanged.
+     */
+    @Nullable
+    static Fingerprint of(final @NotNull Path file) {
+        try {
+            final long size = Files.size(file);
+            final CRC32C crc = new CRC32C();
+
+            try (final InputStream stream = Files.newInputStream(file)) {
+                final byte[] buffer = new byte[8192];
+                for (int read; (read = stream.read(buffer)) != -1; ) crc.update(buffer, 0, read);
+            }
+
+            return new Fingerprint(size, crc.getValue());
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A different size settles it without the hash; a touch that only moves the modification time is not a change.
+     */
+    boolean changedFrom(final @NotNull Fingerprint previous) {
+        return size != previous.size || hash != previous.hash;
+    }
+}
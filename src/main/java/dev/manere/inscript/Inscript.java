@@ -1,29 +1,81 @@
 package dev.manere.inscript;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import dev.manere.inscript.format.BinaryFormat;
 import dev.manere.inscript.format.FileFormat;
 import dev.manere.inscript.format.FileFormats;
-import dev.manere.inscript.format.InscriptReader;
+import dev.manere.inscript.format.RenderCache;
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.FrozenSectionNode;
+import dev.manere.inscript.node.LazySectionNode;
 import dev.manere.inscript.node.RootSectionNode;
+import dev.manere.inscript.node.SectionNode;
 import dev.manere.inscript.value.ValueRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
 
 public class Inscript {
+    private static final Executor SAVER = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("Inscript Save").factory());
+
     @Nullable
     private final Path path;
 
-    private final ConfigSection root = new SimpleConfigSection(new RootSectionNode());
+    private final ConfigSection root;
     private final FileFormat format;
+    private final ValueRegistry registry;
+    private final boolean readOnly;
+
+    private final Object writeLock = new Object();
+    private final AtomicReference<ConfigSection> snapshot;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object diskLock = new Object();
+    private final Object saveLock = new Object();
+    private @Nullable ConfigSection pendingState;
+    private @Nullable CompletableFuture<Void> pendingSave;
 
-    private Inscript(final @Nullable Path path, final @NotNull FileFormat format) {
+    private final RenderCache renderCache = RenderCache.newCache();
+    private @Nullable FrozenSectionNode saved;
+    private volatile boolean unsaved;
+    private volatile @Nullable Fingerprint written;
+
+    private Inscript(final @Nullable Path path, final @NotNull FileFormat format, final @NotNull ValueRegistry registry) {
         this.path = path;
         this.format = format;
+        this.registry = registry;
+        this.readOnly = false;
+        this.root = new SimpleConfigSection(new RootSectionNode(), registry);
+        this.snapshot = new AtomicReference<>(new SimpleConfigSection(FrozenSectionNode.freeze(root.getSection(), null), registry));
+    }
+
+    private Inscript(final @NotNull Path path, final @NotNull SectionNode mapped, final @NotNull ValueRegistry registry) {
+        this.path = path;
+        this.format = FileFormats.BINARY;
+        this.registry = registry;
+        this.readOnly = true;
+        this.root = new SimpleConfigSection(mapped, registry);
+        // The mapped tree never changes, so it is its own snapshot.
+        this.snapshot = new AtomicReference<>(root);
     }
 
     @NotNull
@@ -35,7 +87,7 @@ public class Inscript {
             final Collection<String> extensions = format.getValidFileExtensions();
             for (final String extension : extensions) {
                 if (file.toString().endsWith("." + extension)) {
-                    return new Inscript(source, format);
+                    return new Inscript(source, format, ValueRegistry.REGISTRY);
                 }
             }
         }
@@ -46,7 +98,7 @@ public class Inscript {
     @NotNull
     @CanIgnoreReturnValue
     public static Inscript newInscript(final @NotNull FileFormat format, final @NotNull Path source) {
-        return new Inscript(source, format);
+        return new Inscript(source, format, ValueRegistry.REGISTRY);
     }
 
     @NotNull
@@ -58,7 +110,31 @@ public class Inscript {
     @NotNull
     @CanIgnoreReturnValue
     public static Inscript newInscript(final @NotNull FileFormat format) {
-        return new Inscript(null, format);
+        return new Inscript(null, format, ValueRegistry.REGISTRY);
+    }
+
+    /**
+     * Opens a {@link FileFormats#BINARY} file read-only over a memory-mapped channel. Nothing is loaded up front:
+     * lookups decode only the sections and values on the requested path, everything else stays on disk.
+     * The file must not be modified while the returned Inscript is in use.
+     */
+    @NotNull
+    public static Inscript newMappedInscript(final @NotNull Path source) {
+        return newMappedInscript(source, ValueRegistry.REGISTRY);
+    }
+
+    /**
+     * Like {@link #newMappedInscript(Path)}, decoding custom types with {@code registry}.
+     */
+    @NotNull
+    public static Inscript newMappedInscript(final @NotNull Path source, final @NotNull ValueRegistry registry) {
+        try (final FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new InscriptException("Attempted to map a file larger than 2GB: " + source);
+
+            return new Inscript(source, BinaryFormat.map(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), registry), registry);
+        } catch (final IOException e) {
+            throw new InscriptException(e);
+        }
     }
 
     @NotNull
@@ -66,16 +142,119 @@ public class Inscript {
         return new Builder();
     }
 
+    /**
+     * The global registry. See {@link #getValueRegistry()} for the one this Inscript uses.
+     */
     @NotNull
     public static ValueRegistry getRegistry() {
         return ValueRegistry.REGISTRY;
     }
 
+    /**
+     * The registry this Inscript's formats and sections read and write custom types with.
+     */
+    @NotNull
+    public ValueRegistry getValueRegistry() {
+        return registry;
+    }
+
     @NotNull
     public ConfigSection getRoot() {
         return root;
     }
 
+    /**
+     * The last published version of the config. It is immutable, so any thread can read it without locking;
+     * changes made through {@link #getRoot()} only show up here after {@link #publish()}.
+     */
+    @NotNull
+    public ConfigSection getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * A cached view of {@code path} in the published snapshot, which any thread can read. See {@link ConfigValue}.
+     */
+    @NotNull
+    public <T> ConfigValue<T> bind(final @NotNull String path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        return bind(ConfigPath.parse(path), type, defaultValue);
+    }
+
+    @NotNull
+    public <T> ConfigValue<T> bind(final @NotNull ConfigPath path, final @NotNull Class<? extends T> type, final @NotNull T defaultValue) {
+        return new ConfigValue<>(this, path, type, defaultValue);
+    }
+
+    /**
+     * Freezes the current state of {@link #getRoot()} into a new snapshot and swaps it in atomically.
+     * Unchanged sections are shared with the previous snapshot rather than copied.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public ConfigSection publish() {
+        checkWritable();
+
+        synchronized (writeLock) {
+            final ConfigSection current = snapshot.get();
+            final FrozenSectionNode previous = (FrozenSectionNode) current.getSection();
+            final FrozenSectionNode frozen = FrozenSectionNode.freeze(root.getSection(), previous);
+            if (frozen == previous) return current;
+
+            final ConfigSection published = new SimpleConfigSection(frozen, registry);
+            snapshot.set(published);
+
+            if (!listeners.isEmpty()) notifyListeners(ConfigDiff.between(previous, frozen));
+            return published;
+        }
+    }
+
+    /**
+     * Applies a batch of edits to {@link #getRoot()} and publishes the result as one snapshot.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public ConfigSection update(final @NotNull Consumer<ConfigSection> editor) {
+        checkWritable();
+
+        synchronized (writeLock) {
+            editor.accept(root);
+            return publish();
+        }
+    }
+
+    /**
+     * Calls {@code listener} with the changes under {@code prefix} whenever a published snapshot changes anything there.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public Inscript onChange(final @NotNull ConfigPath prefix, final @NotNull Consumer<ConfigDiff> listener) {
+        listeners.add(new ChangeListener(prefix, listener));
+        return this;
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public Inscript onChange(final @NotNull Consumer<ConfigDiff> listener) {
+        listeners.add(new ChangeListener(null, listener));
+        return this;
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public Inscript removeChangeListener(final @NotNull Consumer<ConfigDiff> listener) {
+        listeners.removeIf(registered -> registered.listener() == listener);
+        return this;
+    }
+
+    private void notifyListeners(final @NotNull ConfigDiff diff) {
+        if (diff.isEmpty()) return;
+
+        for (final ChangeListener registered : listeners) {
+            final ConfigDiff changes = registered.prefix() == null ? diff : diff.under(registered.prefix());
+            if (!changes.isEmpty()) registered.listener().accept(changes);
+        }
+    }
+
     @NotNull
     public Optional<Path> getPath() {
         return Optional.ofNullable(path);
@@ -86,22 +265,163 @@ public class Inscript {
         return format;
     }
 
+    /**
+     * Whether this Inscript was opened with {@link #newMappedInscript(Path)}; such an Inscript can't be edited, loaded or saved to disk.
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) throw new InscriptException("Attempted to modify a read-only Inscript");
+    }
+
+    /**
+     * Whether the tree changed since it was last loaded from or saved to disk, or that save failed.
+     * Saving a clean Inscript whose file exists does nothing.
+     */
+    public boolean isDirty() {
+        return unsaved || root.getSection().isDirty();
+    }
+
     public void saveToDisk() {
+        final Path target = checkSavable();
+
+        synchronized (diskLock) {
+            // The live tree is newer than any pending snapshot, so this write settles the pending save too.
+            final CompletableFuture<Void> superseded;
+
+            synchronized (saveLock) {
+                superseded = pendingSave;
+                pendingState = null;
+                pendingSave = null;
+            }
+
+            if (superseded == null && !isDirty() && Files.exists(target)) return;
+
+            try {
+                write(target, freezeForSave());
+            } catch (final InscriptException e) {
+                if (superseded != null) superseded.completeExceptionally(e);
+                throw e;
+            }
+
+            if (superseded != null) superseded.complete(null);
+        }
+    }
+
+    /**
+     * Saves a snapshot of the current tree on a background thread, so the caller never waits on the disk.
+     * Saves requested within {@link InscriptConstants#SAVE_WINDOW} of each other are coalesced: only the latest
+     * state is written, and every one of them completes when it is.
+     * <p>
+     * Like {@link #saveToDisk()}, the file is written to a temporary sibling, synced and then moved into place,
+     * so a crash leaves either the old or the new file, never a truncated one.
+     *
+     * @return completes once the file is on disk, or exceptionally with an {@link InscriptException}
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public CompletableFuture<Void> saveAsync() {
+        final Path target = checkSavable();
+
+        synchronized (saveLock) {
+            if (!isDirty() && Files.exists(target)) return pendingSave == null ? CompletableFuture.completedFuture(null) : pendingSave;
+
+            pendingState = freezeForSave();
+            if (pendingSave != null) return pendingSave;
+
+            final CompletableFuture<Void> save = new CompletableFuture<>();
+            pendingSave = save;
+
+            final long window = InscriptConstants.SAVE_WINDOW.getValue().toNanos();
+            CompletableFuture.delayedExecutor(window, TimeUnit.NANOSECONDS, SAVER).execute(() -> writePending(target));
+
+            return save;
+        }
+    }
+
+    private void writePending(final @NotNull Path target) {
+        // Taking the state under the disk lock keeps writes in the order their snapshots were taken.
+        synchronized (diskLock) {
+            final ConfigSection state;
+            final CompletableFuture<Void> save;
+
+            synchronized (saveLock) {
+                state = pendingState;
+                save = pendingSave;
+                pendingState = null;
+                pendingSave = null;
+            }
+
+            if (save == null) return;
+
+            try {
+                write(target, state);
+                save.complete(null);
+            } catch (final InscriptException e) {
+                save.completeExceptionally(e);
+            } catch (final RuntimeException e) {
+                save.completeExceptionally(new InscriptException(e));
+            }
+        }
+    }
+
+    /**
+     * Freezes the tree for a save and marks it clean. Sections unchanged since the last save stay the same frozen nodes,
+     * which lets the format copy their text from the last save.
+     */
+    @NotNull
+    private ConfigSection freezeForSave() {
+        synchronized (writeLock) {
+            // The last saved image, or the snapshot published on load, was frozen after the tree was last marked clean.
+            saved = FrozenSectionNode.freezeDirty(root.getSection(), saved == null ? (FrozenSectionNode) snapshot.get().getSection() : saved);
+            root.getSection().markClean();
+            unsaved = false;
+
+            return new SimpleConfigSection(saved, registry);
+        }
+    }
+
+    @NotNull
+    private Path checkSavable() {
         if (getPath().isEmpty()) {
             throw new InscriptException("Attempted to save to disk with a null path");
         }
 
-        final File file = getPath().get().toFile();
+        checkWritable();
+        return getPath().get();
+    }
 
-        if (!file.exists()) try {
-            if (!file.createNewFile()) throw new InscriptException("Failed to save " + file + " to disk, couldn't create file.");
-        } catch (final IOException e) {
-            throw new InscriptException(e);
-        }
+    private void write(final @NotNull Path target, final @NotNull ConfigSection state) {
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
 
         try {
-            Files.writeString(getPath().get(), format.save(root));
+            try (final FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final CheckedOutputStream checked = new CheckedOutputStream(Channels.newOutputStream(channel), new CRC32C());
+                final OutputStream stream = new BufferedOutputStream(checked);
+                format.save(state, stream, renderCache);
+                stream.flush();
+                channel.force(true);
+
+                // Recorded before the move, so a watcher seeing the new file already knows it.
+                written = new Fingerprint(channel.size(), checked.getChecksum().getValue());
+            }
+
+            try {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (final Exception e) {
+            unsaved = true;
+
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (final IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
             throw new InscriptException(e);
         }
     }
@@ -112,39 +432,121 @@ public class Inscript {
     }
 
     public void loadFromDisk() {
-        if (getPath().isEmpty()) throw new InscriptException("Attempted to load from disk with a null path");
-        if (!getPath().get().toFile().exists()) return;
+        for (final ErrorContext error : readFromDisk()) {
+            error.handle();
+        }
+    }
 
-        try (final BufferedReader reader = Files.newBufferedReader(getPath().get())) {
-            root.reset();
+    /**
+     * Loads like {@link #loadFromDisk()}, but returns the errors found instead of handling them.
+     */
+    @NotNull
+    List<ErrorContext> readFromDisk() {
+        return Objects.requireNonNull(readFromDisk(false));
+    }
 
-            final List<ErrorContext> errors = format.load(InscriptReader.reader(reader.lines().toList()), this);
+    /**
+     * @param keepUnsaved whether to leave the tree alone if it has unsaved changes, returning {@code null}
+     */
+    @Nullable
+    List<ErrorContext> readFromDisk(final boolean keepUnsaved) {
+        if (getPath().isEmpty()) throw new InscriptException("Attempted to load from disk with a null path");
+        checkWritable();
+        if (!getPath().get().toFile().exists()) return List.of();
 
-            for (final ErrorContext error : errors) {
-                error.handle();
-            }
+        try (final InputStream stream = new BufferedInputStream(Files.newInputStream(getPath().get()))) {
+            return load(loaded -> format.load(stream, loaded), true, keepUnsaved);
         } catch (final Exception e) {
             throw new InscriptException(e);
         }
     }
 
+    /**
+     * The size and hash of the file the last save wrote, for telling it apart from edits made by others.
+     */
+    @Nullable
+    Fingerprint getWritten() {
+        return written;
+    }
+
     public void loadFromString(final @NotNull String configString) {
-        try {
-            root.reset();
+        checkWritable();
 
-            final List<ErrorContext> errors = format.load(InscriptReader.reader(configString.lines().toList()), this);
+        final List<ErrorContext> errors;
 
-            for (final ErrorContext error : errors) {
-                error.handle();
-            }
+        try {
+            errors = Objects.requireNonNull(load(loaded -> format.load(new StringReader(configString), loaded), false, false));
         } catch (final Exception e) {
             throw new InscriptException(e);
         }
+
+        for (final ErrorContext error : errors) {
+            error.handle();
+        }
+    }
+
+    /**
+     * @param disk whether the tree now matches the file and is clean
+     * @param keepUnsaved whether to leave the tree alone if it has unsaved changes, returning {@code null}
+     */
+    @Nullable
+    private List<ErrorContext> load(final @NotNull Loader loader, final boolean disk, final boolean keepUnsaved) throws IOException {
+        // Parse into a detached tree first, so the current config stays intact until the new one is complete.
+        final Inscript loaded = new Inscript(path, format, registry);
+        final List<ErrorContext> errors = loader.load(loaded);
+
+        synchronized (writeLock) {
+            if (keepUnsaved && isDirty()) return null;
+
+            root.reset();
+            root.copy(loaded.getRoot());
+            publish();
+
+            if (disk) {
+                root.getSection().markClean();
+                saved = null;
+                unsaved = false;
+            }
+        }
+
+        return errors;
+    }
+
+    /**
+     * Parses every section a lazy format such as {@link dev.manere.inscript.format.DataScriptFormat#lazy()} deferred.
+     * Errors found in them are handled as they would have been on first access.
+     *
+     * @return the errors of every deferred section, including ones that were already loaded
+     */
+    @NotNull
+    @Unmodifiable
+    public List<ErrorContext> validateAll() {
+        final List<ErrorContext> errors = new ArrayList<>();
+        validate(root.getSection(), errors);
+
+        return Collections.unmodifiableList(errors);
     }
 
+    private static void validate(final @NotNull SectionNode section, final @NotNull List<ErrorContext> errors) {
+        if (section instanceof LazySectionNode lazy) errors.addAll(lazy.load());
+
+        for (final ConfigNode child : section.getChildren()) {
+            if (child instanceof SectionNode nested) validate(nested, errors);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Loader {
+        @NotNull
+        List<ErrorContext> load(final @NotNull Inscript target) throws IOException;
+    }
+
+    private record ChangeListener(@Nullable ConfigPath prefix, @NotNull Consumer<ConfigDiff> listener) {}
+
     public static class Builder {
         private Path path;
         private FileFormat format;
+        private ValueRegistry registry = ValueRegistry.REGISTRY;
 
         public Builder path(Path path) {
             this.path = path;
@@ -156,11 +558,32 @@ public class Inscript {
             return this;
         }
 
+        /**
+         * Reads and writes custom types with {@code registry}, typically one made with {@link ValueRegistry#newRegistry()}.
+         */
+        public Builder registry(ValueRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
         public Inscript build() {
             if (format == null) {
                 throw new InscriptException("Format must be specified");
             }
-            return new Inscript(path, format);
+            return new Inscript(path, format, registry);
+        }
+
+        /**
+         * Opens the binary file at the path with {@link #newMappedInscript(Path, ValueRegistry)}, using the registry.
+         */
+        public Inscript buildMapped() {
+            if (path == null) {
+                throw new InscriptException("Path must be specified");
+            }
+            if (format != null && !(format instanceof BinaryFormat)) {
+                throw new InscriptException("Only binary files can be mapped");
+            }
+            return newMappedInscript(path, registry);
         }
     }
 }
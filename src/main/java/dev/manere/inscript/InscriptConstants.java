@@ -2,6 +2,7 @@ package dev.manere.inscript;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -18,6 +19,12 @@ public interface InscriptConstants {
     @NotNull
     InscriptConstant<Supplier<Optional<String>>> VERSION = new InscriptConstant<>(() -> Optional.ofNullable(InscriptConstants.class.getPackage().getImplementationVersion()));
 
+    /**
+     * How long {@link Inscript#saveAsync()} waits before writing, so that saves requested in the meantime coalesce into one write.
+     */
+    @NotNull
+    InscriptConstant<Duration> SAVE_WINDOW = new InscriptConstant<>(Duration.ofMillis(100));
+
     @NotNull
     InscriptConstant<Consumer<ErrorContext>> ERROR_HANDLER = new InscriptConstant<>(context -> System.err.println(context.buildDefault()));
 }
@@ -0,0 +1,206 @@
+package dev.manere.inscript;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads many files at once, reading and parsing each on its own task. Formats are detected by extension as in
+ * {@link Inscript#newInscript(Path)}. Parse errors are collected into the results instead of being handled,
+ * and a file that cannot be read at all does not stop the others from loading.
+ */
+public final class InscriptLoader {
+    @Nullable
+    private final Executor executor;
+
+    private InscriptLoader(final @Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * A loader that starts a virtual thread per file, letting as many files load at once as there are cores.
+     * Bounding them keeps only that many documents in memory mid-parse, which matters more than overlapping reads.
+     */
+    @NotNull
+    public static InscriptLoader newLoader() {
+        return new InscriptLoader(null);
+    }
+
+    /**
+     * A loader that runs its files on {@code executor}, typically a pool shared with the rest of the application.
+     * The executor is never shut down by the loader.
+     */
+    @NotNull
+    public static InscriptLoader newLoader(final @NotNull Executor executor) {
+        return new InscriptLoader(executor);
+    }
+
+    /**
+     * Loads every file and waits until all of them are done.
+     *
+     * @return one result per path, in the order of {@code paths}
+     */
+    @NotNull
+    public Result loadAll(final @NotNull Collection<Path> paths) {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<FileResult>> tasks = new ArrayList<>(paths.size());
+
+        if (executor == null) {
+            final Semaphore permits = new Semaphore(Runtime.getRuntime().availableProcessors());
+
+            try (final ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (final Path path : paths) tasks.add(CompletableFuture.supplyAsync(() -> load(path, permits), virtual));
+            }
+        } else {
+            for (final Path path : paths) tasks.add(CompletableFuture.supplyAsync(() -> load(path), executor));
+        }
+
+        final List<FileResult> files = new ArrayList<>(tasks.size());
+        for (final CompletableFuture<FileResult> task : tasks) files.add(task.join());
+
+        return new Result(files, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    @NotNull
+    private static FileResult load(final @NotNull Path path, final @NotNull Semaphore permits) {
+        permits.acquireUninterruptibly();
+
+        try {
+            return load(path);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @NotNull
+    private static FileResult load(final @NotNull Path path) {
+        final long start = System.nanoTime();
+
+        try {
+            final Inscript inscript = Inscript.newInscript(path);
+            final List<ErrorContext> errors = inscript.readFromDisk();
+
+            return new FileResult(path, inscript, errors, null, Duration.ofNanos(System.nanoTime() - start));
+        } catch (final RuntimeException e) {
+            final InscriptException failure = e instanceof InscriptException inscriptException ? inscriptException : new InscriptException(e);
+            return new FileResult(path, null, List.of(), failure, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public static final class Result {
+        private final List<FileResult> files;
+        private final Duration duration;
+
+        private Result(final @NotNull List<FileResult> files, final @NotNull Duration duration) {
+            this.files = Collections.unmodifiableList(files);
+            this.duration = duration;
+        }
+
+        @NotNull
+        @Unmodifiable
+        public List<FileResult> getFiles() {
+            return files;
+        }
+
+        /**
+         * The wall-clock time from the first file being submitted to the last one finishing.
+         */
+        @NotNull
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * The parse errors of every file, in file order.
+         */
+        @NotNull
+        @Unmodifiable
+        public List<ErrorContext> getErrors() {
+            final List<ErrorContext> errors = new ArrayList<>();
+            for (final FileResult file : files) errors.addAll(file.getErrors());
+
+            return Collections.unmodifiableList(errors);
+        }
+
+        @NotNull
+        @Unmodifiable
+        public List<FileResult> getFailures() {
+            return files.stream().filter(file -> file.getFailure().isPresent()).toList();
+        }
+
+        /**
+         * Whether every file was loaded without failures or parse errors.
+         */
+        public boolean isSuccessful() {
+            for (final FileResult file : files) {
+                if (!file.isSuccessful()) return false;
+            }
+
+            return true;
+        }
+    }
+
+    public static final class FileResult {
+        private final Path path;
+        private final @Nullable Inscript inscript;
+        private final List<ErrorContext> errors;
+        private final @Nullable InscriptException failure;
+        private final Duration duration;
+
+        private FileResult(final @NotNull Path path, final @Nullable Inscript inscript, final @NotNull List<ErrorContext> errors, final @Nullable InscriptException failure, final @NotNull Duration duration) {
+            this.path = path;
+            this.inscript = inscript;
+            this.errors = List.copyOf(errors);
+            this.failure = failure;
+            this.duration = duration;
+        }
+
+        @NotNull
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * The loaded Inscript, empty if the file {@linkplain #getFailure() failed} to load.
+         */
+        @NotNull
+        public Optional<Inscript> getInscript() {
+            return Optional.ofNullable(inscript);
+        }
+
+        @NotNull
+        @Unmodifiable
+        public List<ErrorContext> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Why the file could not be loaded at all, for example an unknown extension or an I/O error.
+         */
+        @NotNull
+        public Optional<InscriptException> getFailure() {
+            return Optional.ofNullable(failure);
+        }
+
+        /**
+         * The time spent reading and parsing this file.
+         */
+        @NotNull
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public boolean isSuccessful() {
+            return failure == null && errors.isEmpty();
+        }
+    }
+}
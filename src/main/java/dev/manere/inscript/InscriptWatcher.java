@@ -0,0 +1,254 @@
+package dev.manere.inscript;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Reloads watched {@link Inscript} files when they change on disk. All watched directories share one
+ * {@link WatchService} and one daemon thread. Bursts of writes are debounced, and a file is only reloaded
+ * when its size or content hash show that it really changed and the change is not the Inscript's own save.
+ * An Inscript with unsaved changes is never reloaded; the skipped reload is reported to {@link #onError(Consumer)}.
+ */
+public final class InscriptWatcher implements Closeable {
+    private final Duration debounce;
+    private final WatchService service;
+    private final Map<Path, Watched> watched = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+    private final Map<Path, Long> pending = new HashMap<>();
+
+    private volatile Consumer<ErrorContext> errorHandler = ErrorContext::handle;
+    private volatile boolean closed;
+
+    private InscriptWatcher(final @NotNull Duration debounce) {
+        this.debounce = debounce;
+
+        try {
+            this.service = FileSystems.getDefault().newWatchService();
+        } catch (final IOException e) {
+            throw new InscriptException(e);
+        }
+
+        final Thread thread = new Thread(this::run, "Inscript Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @NotNull
+    public static InscriptWatcher newWatcher() {
+        return newWatcher(Duration.ofMillis(200));
+    }
+
+    @NotNull
+    public static InscriptWatcher newWatcher(final @NotNull Duration debounce) {
+        return new InscriptWatcher(debounce);
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptWatcher watch(final @NotNull Inscript inscript) {
+        return watch(inscript, (source, changed) -> {});
+    }
+
+    /**
+     * Adds {@code listener} to the ones called when {@code inscript} is reloaded. A file can only be watched through one Inscript.
+     *
+     * @throws InscriptException if another Inscript already watches the same file
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptWatcher watch(final @NotNull Inscript inscript, final @NotNull Listener listener) {
+        if (closed) throw new InscriptException("Attempted to watch with a closed watcher");
+        if (inscript.getPath().isEmpty()) throw new InscriptException("Attempted to watch an Inscript with a null path");
+
+        final Path file = inscript.getPath().get().toAbsolutePath().normalize();
+        final Path directory = file.getParent();
+
+        final Watched target = watched.computeIfAbsent(file, ignored -> new Watched(inscript, Fingerprint.of(file)));
+        if (target.inscript != inscript) throw new InscriptException("Attempted to watch " + file + " with a second Inscript");
+
+        target.listeners.add(listener);
+
+        directories.computeIfAbsent(directory, ignored -> {
+            try {
+                return directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (final IOException e) {
+                throw new InscriptException(e);
+            }
+        });
+
+        return this;
+    }
+
+    /**
+     * Receives the parse errors of reloads and the failures of reads and listeners, on the watcher thread.
+     * Defaults to {@link ErrorContext#handle()}, like {@link Inscript#loadFromDisk()}.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptWatcher onError(final @NotNull Consumer<ErrorContext> handler) {
+        this.errorHandler = handler;
+        return this;
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptWatcher unwatch(final @NotNull Inscript inscript) {
+        if (inscript.getPath().isEmpty()) return this;
+
+        final Path file = inscript.getPath().get().toAbsolutePath().normalize();
+        watched.computeIfPresent(file, (ignored, target) -> target.inscript == inscript ? null : target);
+
+        final Path directory = file.getParent();
+        if (watched.keySet().stream().noneMatch(path -> path.getParent().equals(directory))) {
+            final WatchKey key = directories.remove(directory);
+            if (key != null) key.cancel();
+        }
+
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        try {
+            service.close();
+        } catch (final IOException e) {
+            throw new InscriptException(e);
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                final WatchKey key;
+
+                if (pending.isEmpty()) {
+                    key = service.take();
+                } else {
+                    final long wait = Collections.min(pending.values()) - System.nanoTime();
+                    key = service.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                }
+
+                if (key != null) {
+                    queue(key);
+                    key.reset();
+                }
+
+                reloadDue();
+            }
+        } catch (final ClosedWatchServiceException | InterruptedException ignored) {
+            // Closed, nothing left to watch.
+        }
+    }
+
+    private void queue(final @NotNull WatchKey key) {
+        if (!(key.watchable() instanceof Path directory)) return;
+
+        final long deadline = System.nanoTime() + debounce.toNanos();
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (!(event.context() instanceof Path name)) continue;
+
+            final Path file = directory.resolve(name).toAbsolutePath().normalize();
+            if (watched.containsKey(file)) pending.put(file, deadline);
+        }
+    }
+
+    private void reloadDue() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<Path, Long> entry = iterator.next();
+            if (entry.getValue() > now) continue;
+
+            iterator.remove();
+
+            final Watched target = watched.get(entry.getKey());
+            if (target != null) reload(entry.getKey(), target);
+        }
+    }
+
+    private void reload(final @NotNull Path file, final @NotNull Watched target) {
+        final Fingerprint previous = target.fingerprint;
+        final Fingerprint fingerprint = Fingerprint.of(file);
+        if (fingerprint == null) return;
+
+        target.fingerprint = fingerprint;
+        if (previous != null && !fingerprint.changedFrom(previous)) return;
+
+        // The Inscript's own save moving its temporary file into place.
+        if (fingerprint.equals(target.inscript.getWritten())) return;
+
+        final ConfigSection before = target.inscript.getSnapshot();
+        final List<ErrorContext> errors;
+
+        try {
+            errors = target.inscript.readFromDisk(true);
+        } catch (final RuntimeException e) {
+            report(new ErrorContext(target.inscript, 0, file.toString(), "Failed to reload: " + e.getMessage()));
+            return;
+        }
+
+        if (errors == null) {
+            report(new ErrorContext(target.inscript, 0, file.toString(), "Skipped reload: the Inscript has unsaved changes that it would discard"));
+            return;
+        }
+
+        for (final ErrorContext error : errors) report(error);
+
+        final ConfigDiff diff = ConfigDiff.between(before, target.inscript.getSnapshot());
+        if (diff.isEmpty()) return;
+
+        final Set<ConfigPath> changed = diff.getPaths();
+
+        for (final Listener listener : target.listeners) {
+            try {
+                listener.onReload(target.inscript, changed);
+            } catch (final RuntimeException e) {
+                report(new ErrorContext(target.inscript, 0, file.toString(), "Reload listener failed: " + e));
+            }
+        }
+    }
+
+    private void report(final @NotNull ErrorContext error) {
+        try {
+            errorHandler.accept(error);
+        } catch (final RuntimeException ignored) {
+            // A failing handler must not stop the watcher thread.
+        }
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called on the watcher thread after {@code inscript} was reloaded and a new snapshot published.
+         *
+         * @param changed the paths of every scalar or section that was added, removed, changed or re-commented, see {@link ConfigDiff}
+         */
+        void onReload(final @NotNull Inscript inscript, final @NotNull Set<ConfigPath> changed);
+    }
+
+    private static final class Watched {
+        private final Inscript inscript;
+        private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+        private volatile Fingerprint fingerprint;
+
+        private Watched(final @NotNull Inscript inscript, final @Nullable Fingerprint fingerprint) {
+            this.inscript = inscript;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
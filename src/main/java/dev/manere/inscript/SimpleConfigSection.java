@@ -3,84 +3,130 @@ package dev.manere.inscript;
 import dev.manere.inscript.node.ConfigNode;
 import dev.manere.inscript.node.ScalarNode;
 import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.DoubleList;
 import dev.manere.inscript.value.InscriptValue;
+import dev.manere.inscript.value.IntList;
+import dev.manere.inscript.value.LongList;
+import dev.manere.inscript.value.RecordValue;
 import dev.manere.inscript.value.ValueRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public record SimpleConfigSection(@NotNull SectionNode sectionNode) implements ConfigSection {
+/**
+ * @param registry the values custom types are read and written with, shared by every section reached from this one
+ */
+public record SimpleConfigSection(@NotNull SectionNode sectionNode, @NotNull ValueRegistry registry) implements ConfigSection {
+    public SimpleConfigSection(final @NotNull SectionNode sectionNode) {
+        this(sectionNode, ValueRegistry.REGISTRY);
+    }
+
     @Override
     public @NotNull SectionNode getSection() {
         return sectionNode;
     }
 
+    @Override
+    public @NotNull ValueRegistry getValueRegistry() {
+        return registry;
+    }
+
     @Override
     public @NotNull Optional<ConfigSection> getSection(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (String part : parts) {
-                Optional<ConfigSection> next = current.getSection(part);
-                if (next.isEmpty()) return Optional.empty();
-                current = next.get();
-            }
-            return Optional.of(current);
+        if (key.indexOf('.') != -1) return getSection(ConfigPath.parse(key));
+
+        final ConfigNode node = sectionNode.getChild(key);
+        return !(node instanceof SectionNode childSection) ? Optional.empty() : Optional.of(new SimpleConfigSection(childSection, registry));
+    }
+
+    @Override
+    public @NotNull Optional<ConfigSection> getSection(final @NotNull ConfigPath path) {
+        SectionNode current = sectionNode;
+
+        for (int i = 0; i < path.size(); i++) {
+            if (!(current.getChild(path.get(i)) instanceof SectionNode next)) return Optional.empty();
+            current = next;
         }
 
-        final ConfigNode node = getNode(key).orElse(null);
-        return !(node instanceof SectionNode childSection) ? Optional.empty() : Optional.of(new SimpleConfigSection(childSection));
+        return Optional.of(new SimpleConfigSection(current, registry));
     }
 
     @Override
     public @NotNull ConfigSection createSection(final @NotNull String key) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (String part : parts) {
-                current = current.getSection(part).orElse(current.createSection(part));
-            }
-            return current;
-        }
+        if (key.indexOf('.') != -1) return createSection(ConfigPath.parse(key));
+        return new SimpleConfigSection(createSection(sectionNode, key), registry);
+    }
 
-        if (key.equalsIgnoreCase(InscriptConstants.ROOT_SECTION_KEY.getValue())) throw new IllegalArgumentException("Illegal attempt to create a root section.");
+    @Override
+    public @NotNull ConfigSection createSection(final @NotNull ConfigPath path) {
+        SectionNode current = sectionNode;
+        for (int i = 0; i < path.size(); i++) current = createSection(current, path.get(i));
 
-        final Optional<ConfigSection> sectionFound = getSection(key);
-        if (sectionFound.isPresent()) return sectionFound.get();
+        return new SimpleConfigSection(current, registry);
+    }
 
-        final SectionNode created = new SectionNode() {
-            private final Set<ConfigNode> nodes = new LinkedHashSet<>();
+    @Override
+    public @NotNull <T> Optional<T> get(final @NotNull String key, final @NotNull Class<? extends T> ignoredType) {
+        if (key.indexOf('.') != -1) return get(ConfigPath.parse(key), ignoredType);
+        return get(sectionNode, key, ignoredType);
+    }
 
-            @NotNull
-            public Set<ConfigNode> getChildren() {
-                return nodes;
-            }
+    @Override
+    public @NotNull <T> Optional<T> get(final @NotNull ConfigPath path, final @NotNull Class<? extends T> ignoredType) {
+        final SectionNode parent = path.findParent(sectionNode);
+        if (parent == null) return Optional.empty();
 
-            @NotNull
-            public String getKey() {
-                return key;
-            }
-        };
+        return get(parent, path.getKey(), ignoredType);
+    }
 
-        getSection().getChildren().add(created);
-        return new SimpleConfigSection(created);
+    @Override
+    public @NotNull <T> List<T> getList(final @NotNull String key, final @NotNull Class<? extends T> ignoredType) {
+        if (key.indexOf('.') != -1) return getList(ConfigPath.parse(key), ignoredType);
+        return getList(sectionNode, key);
     }
 
     @Override
-    public @NotNull <T> Optional<T> get(final @NotNull String key, final @NotNull Class<? extends T> ignoredType) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return Optional.empty();
-                current = next.get();
-            }
-            return current.get(parts[parts.length - 1], ignoredType);
-        }
+    public @NotNull <T> List<T> getList(final @NotNull ConfigPath path, final @NotNull Class<? extends T> ignoredType) {
+        final SectionNode parent = path.findParent(sectionNode);
+        if (parent == null) return Collections.synchronizedList(new ArrayList<>());
+
+        return getList(parent, path.getKey());
+    }
+
+    @Override
+    public @NotNull <T> ConfigSection set(final @NotNull String key, final @Nullable T value) {
+        if (key.indexOf('.') != -1) return set(ConfigPath.parse(key), value);
+
+        set(sectionNode, key, value);
+        return this;
+    }
+
+    @Override
+    public @NotNull <T> ConfigSection set(final @NotNull ConfigPath path, final @Nullable T value) {
+        SectionNode parent = sectionNode;
+        for (int i = 0; i < path.size() - 1; i++) parent = createSection(parent, path.get(i));
+
+        set(parent, path.getKey(), value);
+        return this;
+    }
+
+    @NotNull
+    private static SectionNode createSection(final @NotNull SectionNode parent, final @NotNull String key) {
+        if (key.equalsIgnoreCase(InscriptConstants.ROOT_SECTION_KEY.getValue())) throw new IllegalArgumentException("Illegal attempt to create a root section.");
+
+        if (parent.getChild(key) instanceof SectionNode found) return found;
+
+        final SectionNode created = SectionNode.section(key);
+        parent.putChild(created);
+
+        return created;
+    }
 
-        final ConfigNode node = getNode(key).orElse(null);
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> get(final @NotNull SectionNode parent, final @NotNull String key, final @NotNull Class<? extends T> ignoredType) {
+        final ConfigNode node = parent.getChild(key);
         if (node == null) return Optional.empty();
 
         if (node instanceof ScalarNode<?> scalar) {
@@ -95,28 +141,18 @@ public record SimpleConfigSection(@NotNull SectionNode sectionNode) implements C
             }
         } else {
             try {
-                final Optional<InscriptValue<T>> found = ValueRegistry.REGISTRY.getInscript(ignoredType);
-                return found.map(t -> t.deserialize(new SimpleConfigSection((SectionNode) node)));
+                final InscriptValue<T> value = registry.<T>getInscript(ignoredType).orElseGet(() -> recordValue(ignoredType));
+                return value == null ? Optional.empty() : Optional.ofNullable(value.deserialize(new SimpleConfigSection((SectionNode) node, registry)));
             } catch (final Exception e) {
                 return Optional.empty();
             }
         }
     }
 
-    @Override
-    public @NotNull <T> List<T> getList(final @NotNull String key, final @NotNull Class<? extends T> ignoredType) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection current = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                Optional<ConfigSection> next = current.getSection(parts[i]);
-                if (next.isEmpty()) return Collections.synchronizedList(new ArrayList<>());
-                current = next.get();
-            }
-            return current.getList(parts[parts.length - 1], ignoredType);
-        }
-
-        final ConfigNode node = getNode(key).orElse(null);
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> getList(final @NotNull SectionNode parent, final @NotNull String key) {
+        final ConfigNode node = parent.getChild(key);
         if (node == null) return Collections.synchronizedList(new ArrayList<>());
         if (!(node instanceof ScalarNode<?> scalar)) return Collections.synchronizedList(new ArrayList<>());
 
@@ -127,39 +163,37 @@ public record SimpleConfigSection(@NotNull SectionNode sectionNode) implements C
         }
     }
 
-    @Override
-    public @NotNull <T> ConfigSection set(final @NotNull String key, final @Nullable T value) {
-        if (key.contains(".")) {
-            String[] parts = key.split("\\.");
-            ConfigSection parent = this;
-            for (int i = 0; i < parts.length - 1; i++) {
-                parent = parent.getSection(parts[i]).orElse(parent.createSection(parts[i]));
-            }
-            parent.set(parts[parts.length - 1], value);
-            return this;
-        }
-
-        unset(key);
-        if (value == null) return this;
+    /**
+     * Records without a registered value are bound through a {@link RecordValue}.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <T> InscriptValue<T> recordValue(final @NotNull Class<?> type) {
+        return type.isRecord() ? (InscriptValue<T>) RecordValue.of(type.asSubclass(Record.class)) : null;
+    }
 
-        final Optional<InscriptValue<Object>> inscriptValue = ValueRegistry.REGISTRY.getInscript(value.getClass());
-        if (inscriptValue.isPresent()) {
-            inscriptValue.get().serialize(value, getSection(key).orElse(createSection(key)));
-            return this;
+    private <T> void set(final @NotNull SectionNode parent, final @NotNull String key, final @Nullable T value) {
+        if (value == null) {
+            parent.removeChild(key);
+            return;
         }
 
-        sectionNode.getChildren().add(new ScalarNode<>() {
-            @Override
-            public @NotNull String getKey() {
-                return key;
-            }
+        InscriptValue<Object> inscriptValue = registry.<Object>getInscript(value.getClass()).orElse(null);
+        if (inscriptValue == null && value instanceof Record && registry.getInline(value.getClass()).isEmpty()) inscriptValue = recordValue(value.getClass());
 
-            @Override
-            public @NotNull T getValue() {
-                return value;
-            }
-        });
+        if (inscriptValue != null) {
+            final SectionNode created = SectionNode.section(key);
+            parent.putChild(created);
 
-        return this;
+            inscriptValue.serialize(value, new SimpleConfigSection(created, registry));
+            return;
+        }
+
+        parent.putChild(ScalarNode.scalar(key, switch (value) {
+            case int[] ints -> IntList.of(ints);
+            case long[] longs -> LongList.of(longs);
+            case double[] doubles -> DoubleList.of(doubles);
+            default -> value;
+        }));
     }
 }
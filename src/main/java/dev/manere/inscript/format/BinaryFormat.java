@@ -0,0 +1,165 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.ConfigSection;
+import dev.manere.inscript.ErrorContext;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.InscriptException;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.ValueRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * A compact, type-tagged binary encoding of the node tree that round-trips losslessly with {@link DataScriptFormat}.
+ * <p>
+ * Layout: the magic {@code INSB} and a version byte, one record per node with children written before their parent,
+ * a table of every distinct key, comment and string, an index of the table's offsets, then the index and root offsets
+ * as two big-endian longs.
+ * A record is its comment ids, its inline comment ids, a tag and a body; a section body lists each child's key id and
+ * the distance back to the child's record. Numbers are zig-zag varints or raw IEEE bits, byte arrays are stored raw,
+ * and {@link dev.manere.inscript.value.PrimitiveList primitive lists} have their own tags so they load unboxed.
+ * <p>
+ * The {@link String} and character stream methods carry the same bytes as Base64, line breaks are ignored when loading.
+ */
+public class BinaryFormat implements FileFormat {
+    static final byte[] MAGIC = {'I', 'N', 'S', 'B'};
+    static final byte VERSION = 1;
+
+    static final byte TAG_SECTION = 0;
+    static final byte TAG_STRING = 1;
+    static final byte TAG_TRUE = 2;
+    static final byte TAG_FALSE = 3;
+    static final byte TAG_BYTE = 4;
+    static final byte TAG_SHORT = 5;
+    static final byte TAG_INT = 6;
+    static final byte TAG_LONG = 7;
+    static final byte TAG_FLOAT = 8;
+    static final byte TAG_DOUBLE = 9;
+    static final byte TAG_CHAR = 10;
+    static final byte TAG_UUID = 11;
+    static final byte TAG_BYTES = 12;
+    static final byte TAG_LIST = 13;
+    static final byte TAG_TEXT = 14;
+    static final byte TAG_INT_LIST = 15;
+    static final byte TAG_LONG_LIST = 16;
+    static final byte TAG_DOUBLE_LIST = 17;
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull InscriptReader reader, final @NotNull Inscript inscript) {
+        return load(String.join("\n", reader.getLines()), inscript);
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull Reader reader, final @NotNull Inscript inscript) {
+        final StringBuilder builder = new StringBuilder();
+        final char[] chars = new char[8192];
+
+        try {
+            for (int read; (read = reader.read(chars)) != -1; ) builder.append(chars, 0, read);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return load(builder.toString(), inscript);
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull InputStream stream, final @NotNull Inscript inscript) throws IOException {
+        return load(ByteBuffer.wrap(stream.readAllBytes()), inscript);
+    }
+
+    @NotNull
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull ByteBuffer buffer, final @NotNull Inscript inscript) {
+        if (!buffer.hasRemaining()) return List.of();
+
+        try {
+            new BinaryReader(buffer.slice(), inscript.getValueRegistry()).readInto(inscript.getRoot().getSection());
+            return List.of();
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            return List.of(new ErrorContext(inscript, 0, "<binary>", "Malformed binary document: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * A read-only tree over {@code buffer}, typically a memory-mapped file. Nodes are decoded on first access and
+     * only along the paths that are accessed; the buffer must not change while the tree is in use.
+     *
+     * @throws InscriptException if {@code buffer} does not hold a binary document, or later, on access to a corrupt record
+     */
+    @NotNull
+    public static SectionNode map(final @NotNull ByteBuffer buffer) {
+        return map(buffer, ValueRegistry.REGISTRY);
+    }
+
+    /**
+     * Like {@link #map(ByteBuffer)}, decoding custom types with {@code registry}.
+     */
+    @NotNull
+    public static SectionNode map(final @NotNull ByteBuffer buffer, final @NotNull ValueRegistry registry) {
+        try {
+            return MappedSectionNode.root(new BinaryReader(buffer.slice(), registry));
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InscriptException("Malformed binary document: " + e.getMessage());
+        }
+    }
+
+    @NotNull
+    private List<ErrorContext> load(final @NotNull String base64, final @NotNull Inscript inscript) {
+        if (base64.isBlank()) return List.of();
+
+        try {
+            return load(ByteBuffer.wrap(Base64.getMimeDecoder().decode(base64)), inscript);
+        } catch (final IllegalArgumentException e) {
+            return List.of(new ErrorContext(inscript, 0, "<binary>", "Malformed Base64: " + e.getMessage()));
+        }
+    }
+
+    @NotNull
+    @Override
+    public Optional<ErrorContext> parseNode(final @NotNull Line line, final @NotNull InscriptReader reader, final @NotNull Inscript inscript, final @NotNull ParseNodeContext context, final @NotNull Set<Integer> processedLines) {
+        return Optional.of(ErrorContext.create(line, inscript, "Binary documents cannot be parsed line by line"));
+    }
+
+    @NotNull
+    @Override
+    public String save(final @NotNull ConfigSection root) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        try {
+            save(root, stream);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return Base64.getEncoder().encodeToString(stream.toByteArray());
+    }
+
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull Writer writer) throws IOException {
+        writer.write(save(root));
+    }
+
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull OutputStream stream) throws IOException {
+        new BinaryWriter(stream, root.getValueRegistry()).write(root.getSection());
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Collection<String> getValidFileExtensions() {
+        return List.of("dsb");
+    }
+}
@@ -0,0 +1,308 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.InscriptException;
+import dev.manere.inscript.node.*;
+import dev.manere.inscript.value.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static dev.manere.inscript.format.BinaryFormat.*;
+
+/**
+ * Decodes the {@link BinaryFormat} layout from a buffer using absolute reads only, so a reader never moves the
+ * buffer's position and can be shared between threads. Strings are decoded from the table the first time they are used,
+ * so opening a document only reads its trailer.
+ */
+final class BinaryReader {
+    private final ByteBuffer buffer;
+    private final int rootOffset;
+    private final int indexOffset;
+    private final String[] strings;
+    private final ValueRegistry registry;
+
+    BinaryReader(final @NotNull ByteBuffer buffer, final @NotNull ValueRegistry registry) {
+        this.buffer = buffer;
+        this.registry = registry;
+
+        final int limit = buffer.limit();
+        if (limit < MAGIC.length + 1 + 16) throw new IllegalArgumentException("Not an Inscript binary document");
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) throw new IllegalArgumentException("Not an Inscript binary document");
+        }
+
+        if (buffer.get(MAGIC.length) != VERSION) throw new IllegalArgumentException("Unsupported binary version " + buffer.get(MAGIC.length));
+
+        this.indexOffset = offset(buffer.getLong(limit - 16));
+        this.rootOffset = offset(buffer.getLong(limit - 8));
+        this.strings = new String[buffer.getInt(indexOffset)];
+    }
+
+    int getRootOffset() {
+        return rootOffset;
+    }
+
+    /**
+     * Decodes every record below the root into {@code root}.
+     */
+    void readInto(final @NotNull SectionNode root) {
+        if (!isSection(rootOffset)) throw new IllegalArgumentException("Root record is not a section");
+        readChildren(rootOffset, (key, offset) -> root.putChild(readRecord(key, offset)));
+    }
+
+    /**
+     * Reads the index of the section record at {@code offset}, handing each child's key and record offset to {@code consumer}.
+     */
+    void readChildren(final int offset, final @NotNull ChildConsumer consumer) {
+        final Cursor cursor = new Cursor(bodyOffset(offset));
+        if (buffer.get(cursor.position++) != TAG_SECTION) throw new IllegalArgumentException("Record at byte " + offset + " is not a section");
+
+        final int count = cursor.readInt();
+
+        for (int i = 0; i < count; i++) {
+            final String key = string(cursor.readInt());
+            consumer.accept(key, offset - offset(cursor.readLong()));
+        }
+    }
+
+    /**
+     * Like {@link #readChildren(int, ChildConsumer)}, but the children are read-only nodes that decode themselves on first access.
+     */
+    @NotNull
+    Map<String, ConfigNode> readMappedChildren(final int offset) {
+        final Map<String, ConfigNode> children = new LinkedHashMap<>();
+
+        readChildren(offset, (key, child) -> children.put(key, isSection(child)
+            ? new MappedSectionNode(this, key, child, false)
+            : new MappedScalarNode(this, key, child)));
+
+        return children;
+    }
+
+    boolean isSection(final int offset) {
+        return buffer.get(bodyOffset(offset)) == TAG_SECTION;
+    }
+
+    @NotNull
+    @Unmodifiable
+    Set<String> readCommentSet(final int offset, final boolean inline) {
+        final Cursor cursor = new Cursor(offset);
+        if (inline) cursor.skipComments();
+
+        final List<String> comments = readComments(cursor);
+        return comments.isEmpty() ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(comments));
+    }
+
+    @NotNull
+    Object readValue(final int offset) {
+        return readValue(new Cursor(bodyOffset(offset)));
+    }
+
+    private int bodyOffset(final int offset) {
+        final Cursor cursor = new Cursor(offset);
+        cursor.skipComments();
+        cursor.skipComments();
+
+        return cursor.position;
+    }
+
+    @NotNull
+    private ConfigNode readRecord(final @NotNull String key, final int offset) {
+        final Cursor cursor = new Cursor(offset);
+        final List<String> comments = readComments(cursor);
+        final List<String> inlineComments = readComments(cursor);
+
+        final ConfigNode node;
+
+        if (buffer.get(cursor.position) == TAG_SECTION) {
+            final SectionNode section = SectionNode.section(key);
+            readChildren(offset, (childKey, child) -> section.putChild(readRecord(childKey, child)));
+            node = section;
+        } else {
+            node = readScalar(key, cursor);
+        }
+
+        node.getComments().addAll(comments);
+        node.getInlineComments().addAll(inlineComments);
+
+        return node;
+    }
+
+    @NotNull
+    private ScalarNode<?> readScalar(final @NotNull String key, final @NotNull Cursor cursor) {
+        return switch (buffer.get(cursor.position)) {
+            case TAG_TRUE, TAG_FALSE -> new BooleanScalarNode(key, buffer.get(cursor.position) == TAG_TRUE);
+            case TAG_INT -> {
+                cursor.position++;
+                yield new IntScalarNode(key, (int) unZigZag(cursor.readLong()));
+            }
+            case TAG_LONG -> {
+                cursor.position++;
+                yield new LongScalarNode(key, unZigZag(cursor.readLong()));
+            }
+            case TAG_DOUBLE -> {
+                cursor.position++;
+                yield new DoubleScalarNode(key, Double.longBitsToDouble(cursor.readFixedLong()));
+            }
+            default -> ScalarNode.scalar(key, readValue(cursor));
+        };
+    }
+
+    @NotNull
+    private List<String> readComments(final @NotNull Cursor cursor) {
+        final int count = cursor.readInt();
+        if (count == 0) return List.of();
+
+        final String[] comments = new String[count];
+        for (int i = 0; i < count; i++) comments[i] = string(cursor.readInt());
+
+        return Arrays.asList(comments);
+    }
+
+    @NotNull
+    private Object readValue(final @NotNull Cursor cursor) {
+        final byte tag = buffer.get(cursor.position++);
+
+        return switch (tag) {
+            case TAG_STRING -> string(cursor.readInt());
+            case TAG_TRUE -> true;
+            case TAG_FALSE -> false;
+            case TAG_BYTE -> buffer.get(cursor.position++);
+            case TAG_SHORT -> (short) unZigZag(cursor.readLong());
+            case TAG_INT -> (int) unZigZag(cursor.readLong());
+            case TAG_LONG -> unZigZag(cursor.readLong());
+            case TAG_FLOAT -> Float.intBitsToFloat(cursor.readFixedInt());
+            case TAG_DOUBLE -> Double.longBitsToDouble(cursor.readFixedLong());
+            case TAG_CHAR -> (char) cursor.readInt();
+            case TAG_UUID -> new UUID(cursor.readFixedLong(), cursor.readFixedLong());
+            case TAG_BYTES -> {
+                final byte[] bytes = new byte[cursor.readInt()];
+                buffer.get(cursor.position, bytes);
+                cursor.position += bytes.length;
+                yield bytes;
+            }
+            case TAG_LIST -> {
+                final int count = cursor.readInt();
+                final Object[] elements = new Object[count];
+                for (int i = 0; i < count; i++) elements[i] = readValue(cursor);
+                yield List.of(elements);
+            }
+            case TAG_INT_LIST -> {
+                final int[] values = new int[cursor.readInt()];
+                for (int i = 0; i < values.length; i++) values[i] = (int) unZigZag(cursor.readLong());
+                yield IntList.of(values);
+            }
+            case TAG_LONG_LIST -> {
+                final long[] values = new long[cursor.readInt()];
+                for (int i = 0; i < values.length; i++) values[i] = unZigZag(cursor.readLong());
+                yield LongList.of(values);
+            }
+            case TAG_DOUBLE_LIST -> {
+                final double[] values = new double[cursor.readInt()];
+                for (int i = 0; i < values.length; i++) values[i] = Double.longBitsToDouble(cursor.readFixedLong());
+                yield DoubleList.of(values);
+            }
+            case TAG_TEXT -> {
+                final String text = string(cursor.readInt());
+                final Object value = registry.recognize(text);
+                yield value == null ? text : value;
+            }
+            default -> throw new IllegalArgumentException("Unknown value tag " + tag + " at byte " + (cursor.position - 1));
+        };
+    }
+
+    @NotNull
+    private String string(final int id) {
+        if (id < 0 || id >= strings.length) throw new IllegalArgumentException("Unknown string " + id);
+
+        String string = strings[id];
+        if (string != null) return string;
+
+        final Cursor cursor = new Cursor(buffer.getInt(indexOffset + 4 + id * 4));
+        final int length = cursor.readInt();
+
+        if (buffer.hasArray()) {
+            string = new String(buffer.array(), buffer.arrayOffset() + cursor.position, length, StandardCharsets.UTF_8);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(cursor.position, bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        return strings[id] = string;
+    }
+
+    /**
+     * Runs a lazy decode, reporting a corrupt document as an {@link InscriptException}.
+     */
+    @NotNull
+    <T> T decode(final @NotNull Supplier<T> decoder) {
+        try {
+            return decoder.get();
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InscriptException("Malformed binary document: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    interface ChildConsumer {
+        void accept(final @NotNull String key, final int offset);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int offset(final long offset) {
+        if (offset < 0 || offset > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid offset " + offset);
+        return (int) offset;
+    }
+
+    private final class Cursor {
+        private int position;
+
+        private Cursor(final int position) {
+            this.position = position;
+        }
+
+        private long readLong() {
+            long value = 0;
+
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte next = buffer.get(position++);
+                value |= (long) (next & 0x7F) << shift;
+                if (next >= 0) return value;
+            }
+
+            throw new IllegalArgumentException("Malformed varint at byte " + position);
+        }
+
+        private int readInt() {
+            final long value = readLong();
+            if (value < 0 || value > Integer.MAX_VALUE) throw new IllegalArgumentException("Invalid length " + value + " at byte " + position);
+
+            return (int) value;
+        }
+
+        private int readFixedInt() {
+            final int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
+
+        private long readFixedLong() {
+            final long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+
+        private void skipComments() {
+            for (int count = readInt(); count > 0; count--) readLong();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static dev.manere.inscript.format.BinaryFormat.*;
+
+/**
+ * Streams a tree in the {@link BinaryFormat} layout. Records are written children first, so every section
+ * can index the offsets of its children; strings are collected into a table written after the records.
+ */
+final class BinaryWriter {
+    private final OutputStream stream;
+    private final ValueRegistry registry;
+    private final byte[] buffer = new byte[8192];
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final List<String> table = new ArrayList<>();
+
+    private int buffered;
+    private long position;
+
+    BinaryWriter(final @NotNull OutputStream stream, final @NotNull ValueRegistry registry) {
+        this.stream = stream;
+        this.registry = registry;
+    }
+
+    void write(final @NotNull SectionNode root) throws IOException {
+        writeBytes(MAGIC, 0, MAGIC.length);
+        writeByte(VERSION);
+
+        final long rootOffset = writeRecord(root);
+        final long[] offsets = new long[table.size()];
+
+        for (int id = 0; id < offsets.length; id++) {
+            final byte[] bytes = table.get(id).getBytes(StandardCharsets.UTF_8);
+
+            offsets[id] = position;
+            writeVarint(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        final long indexOffset = position;
+        if (indexOffset > Integer.MAX_VALUE) throw new IOException("Binary documents are limited to 2GB");
+
+        writeInt(offsets.length);
+        for (final long offset : offsets) writeInt((int) offset);
+
+        writeLong(indexOffset);
+        writeLong(rootOffset);
+        flush();
+    }
+
+    private long writeRecord(final @NotNull ConfigNode node) throws IOException {
+        long[] offsets = null;
+
+        if (node instanceof SectionNode section) {
+            offsets = new long[section.getChildren().size()];
+
+            int index = 0;
+            for (final ConfigNode child : section.getChildren()) offsets[index++] = writeRecord(child);
+        }
+
+        final long offset = position;
+
+        writeComments(node.getComments());
+        writeComments(node.getInlineComments());
+
+        if (node instanceof SectionNode section) {
+            writeByte(TAG_SECTION);
+            writeVarint(offsets.length);
+
+            int index = 0;
+            for (final ConfigNode child : section.getChildren()) {
+                writeVarint(id(child.getKey()));
+                // Children precede their parent, so the distance back to them is always positive.
+                writeVarint(offset - offsets[index++]);
+            }
+        } else if (node instanceof ScalarNode<?> scalar) {
+            writeValue(scalar.getValue());
+        } else {
+            throw new IllegalArgumentException("Unknown node type " + node.getClass().getName());
+        }
+
+        return offset;
+    }
+
+    private void writeComments(final @NotNull Set<String> comments) throws IOException {
+        writeVarint(comments.size());
+        for (final String comment : comments) writeVarint(id(comment));
+    }
+
+    private void writeValue(final @NotNull Object value) throws IOException {
+        switch (value) {
+            case String string -> {
+                writeByte(TAG_STRING);
+                writeVarint(id(string));
+            }
+            case Boolean bool -> writeByte(bool ? TAG_TRUE : TAG_FALSE);
+            case Byte number -> {
+                writeByte(TAG_BYTE);
+                writeByte(number);
+            }
+            case Short number -> {
+                writeByte(TAG_SHORT);
+                writeVarint(zigZag(number));
+            }
+            case Integer number -> {
+                writeByte(TAG_INT);
+                writeVarint(zigZag(number));
+            }
+            case Long number -> {
+                writeByte(TAG_LONG);
+                writeVarint(zigZag(number));
+            }
+            case Float number -> {
+                writeByte(TAG_FLOAT);
+                writeInt(Float.floatToRawIntBits(number));
+            }
+            case Double number -> {
+                writeByte(TAG_DOUBLE);
+                writeLong(Double.doubleToRawLongBits(number));
+            }
+            case Character character -> {
+                writeByte(TAG_CHAR);
+                writeVarint(character);
+            }
+            case UUID uuid -> {
+                writeByte(TAG_UUID);
+                writeLong(uuid.getMostSignificantBits());
+                writeLong(uuid.getLeastSignificantBits());
+            }
+            case byte[] bytes -> {
+                writeByte(TAG_BYTES);
+                writeVarint(bytes.length);
+                writeBytes(bytes, 0, bytes.length);
+            }
+            case IntList list -> {
+                writeByte(TAG_INT_LIST);
+                writeVarint(list.size());
+                for (int i = 0; i < list.size(); i++) writeVarint(zigZag(list.getInt(i)));
+            }
+            case LongList list -> {
+                writeByte(TAG_LONG_LIST);
+                writeVarint(list.size());
+                for (int i = 0; i < list.size(); i++) writeVarint(zigZag(list.getLong(i)));
+            }
+            case DoubleList list -> {
+                writeByte(TAG_DOUBLE_LIST);
+                writeVarint(list.size());
+                for (int i = 0; i < list.size(); i++) writeLong(Double.doubleToRawLongBits(list.getDouble(i)));
+            }
+            case List<?> list -> {
+                writeByte(TAG_LIST);
+                writeVarint(list.size());
+                for (final Object element : list) writeValue(element);
+            }
+            default -> {
+                // Any other type is kept as the text the text formats would write, and recognized again on load.
+                final InlineValue<Object> inline = registry.getInline(value.getClass()).orElse(null);
+                final String text = inline == null ? null : inline.serialize(value);
+
+                writeByte(TAG_TEXT);
+                writeVarint(id(text == null ? String.valueOf(value) : text));
+            }
+        }
+    }
+
+    private int id(final @NotNull String string) {
+        final Integer existing = strings.get(string);
+        if (existing != null) return existing;
+
+        final int id = table.size();
+        strings.put(string, id);
+        table.add(string);
+
+        return id;
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        writeByte((int) value);
+    }
+
+    private void writeInt(final int value) throws IOException {
+        for (int shift = 24; shift >= 0; shift -= 8) writeByte(value >>> shift);
+    }
+
+    private void writeLong(final long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) writeByte((int) (value >>> shift));
+    }
+
+    private void writeByte(final int value) throws IOException {
+        if (buffered == buffer.length) drain();
+
+        buffer[buffered++] = (byte) value;
+        position++;
+    }
+
+    private void writeBytes(final byte @NotNull [] bytes, final int offset, final int length) throws IOException {
+        if (length > buffer.length - buffered) {
+            drain();
+
+            if (length > buffer.length) {
+                stream.write(bytes, offset, length);
+                position += length;
+                return;
+            }
+        }
+
+        System.arraycopy(bytes, offset, buffer, buffered, length);
+        buffered += length;
+        position += length;
+    }
+
+    private void drain() throws IOException {
+        stream.write(buffer, 0, buffered);
+        buffered = 0;
+    }
+
+    private void flush() throws IOException {
+        drain();
+        stream.flush();
+    }
+}
@@ -0,0 +1,55 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Receives a document as a stream of events in document order, without a tree being built. Comments arrive right before
+ * the section, scalar or list they belong to, and every {@link #startSection} is matched by an {@link #endSection()}.
+ * <p>
+ * {@link FileFormat#parse} produces these events, {@link ConfigTreeBuilder} builds a tree from them, and
+ * {@link DataScriptFormat#eventWriter} and {@link YAMLFormat#eventWriter} write them out.
+ */
+public interface ConfigEventHandler {
+    void comment(final @NotNull String text);
+
+    void startSection(final @NotNull String key, final @Nullable String inlineComment);
+
+    void endSection();
+
+    void scalar(final @NotNull String key, final @NotNull Object value, final @Nullable String inlineComment);
+
+    /**
+     * @param values an immutable list, a {@link dev.manere.inscript.value.PrimitiveList} when it only holds numbers of one type
+     */
+    void list(final @NotNull String key, final @NotNull List<?> values, final @Nullable String inlineComment);
+
+    /**
+     * Sends the children of {@code section} to {@code handler}. Nodes with several inline comments have them joined by spaces,
+     * which is how the text formats write them.
+     */
+    static void emit(final @NotNull SectionNode section, final @NotNull ConfigEventHandler handler) {
+        for (final ConfigNode node : section.getChildren()) {
+            for (final String comment : node.getComments()) handler.comment(comment);
+
+            final String inlineComment = node.getInlineComments().isEmpty() ? null : String.join(" ", node.getInlineComments());
+
+            if (node instanceof SectionNode child) {
+                handler.startSection(child.getKey(), inlineComment);
+                emit(child, handler);
+                handler.endSection();
+            } else if (node instanceof ScalarNode<?> scalar) {
+                if (scalar.getValue() instanceof List<?> list) {
+                    handler.list(scalar.getKey(), list, inlineComment);
+                } else {
+                    handler.scalar(scalar.getKey(), scalar.getValue(), inlineComment);
+                }
+            }
+        }
+    }
+}
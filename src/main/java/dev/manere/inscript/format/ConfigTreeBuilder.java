@@ -0,0 +1,75 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.InscriptException;
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds nodes from events under a root section. This is how every text format loads a tree.
+ */
+public final class ConfigTreeBuilder implements ConfigEventHandler {
+    private final List<String> comments = new ArrayList<>();
+
+    private SectionNode[] stack = new SectionNode[16];
+    private int depth;
+
+    public ConfigTreeBuilder(final @NotNull SectionNode root) {
+        this.stack[0] = root;
+    }
+
+    @Override
+    public void comment(final @NotNull String text) {
+        comments.add(text);
+    }
+
+    @Override
+    public void startSection(final @NotNull String key, final @Nullable String inlineComment) {
+        final SectionNode section = SectionNode.section(key);
+        attach(section, inlineComment);
+
+        if (++depth == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+        stack[depth] = section;
+    }
+
+    @Override
+    public void endSection() {
+        if (depth == 0) throw new InscriptException("Attempted to end the root section");
+        stack[depth--] = null;
+    }
+
+    @Override
+    public void scalar(final @NotNull String key, final @NotNull Object value, final @Nullable String inlineComment) {
+        attach(ScalarNode.scalar(key, value), inlineComment);
+    }
+
+    @Override
+    public void list(final @NotNull String key, final @NotNull List<?> values, final @Nullable String inlineComment) {
+        attach(ScalarNode.scalar(key, values), inlineComment);
+    }
+
+    /**
+     * The section nodes are currently added to.
+     */
+    @NotNull
+    SectionNode current() {
+        return stack[depth];
+    }
+
+    /**
+     * Adds a node that was built elsewhere, such as a lazily parsed section, as if it had been read here.
+     */
+    void attach(final @NotNull ConfigNode node, final @Nullable String inlineComment) {
+        node.getComments().addAll(comments);
+        comments.clear();
+
+        if (inlineComment != null) node.getInlineComments().add(inlineComment);
+        stack[depth].getChildren().add(node);
+    }
+}
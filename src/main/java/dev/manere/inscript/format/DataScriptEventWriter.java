@@ -0,0 +1,123 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.InscriptException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Writes events as DataScript, exactly as {@link DataScriptFormat#save} writes a tree. A section header is held back
+ * until the next event shows whether the section is empty.
+ */
+final class DataScriptEventWriter implements RenderCache.Target {
+    private final InscriptStringWriter writer;
+
+    private int depth;
+    private @Nullable String pendingKey;
+    private @Nullable String pendingInlineComment;
+
+    DataScriptEventWriter(final @NotNull InscriptStringWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void comment(final @NotNull String text) {
+        openPending();
+        writer.indent(depth).write("// ").write(text).newline();
+    }
+
+    @Override
+    public void startSection(final @NotNull String key, final @Nullable String inlineComment) {
+        openPending();
+
+        pendingKey = key;
+        pendingInlineComment = inlineComment;
+    }
+
+    @Override
+    public void endSection() {
+        if (pendingKey != null) {
+            writer.indent(depth).write(pendingKey).write(" {}");
+            writeInlineComment(pendingInlineComment);
+            writer.newline();
+
+            pendingKey = null;
+            return;
+        }
+
+        if (depth == 0) throw new InscriptException("Attempted to end the root section");
+        writer.indent(--depth).write('}').newline();
+    }
+
+    @Override
+    public void scalar(final @NotNull String key, final @NotNull Object value, final @Nullable String inlineComment) {
+        openPending();
+
+        writer.indent(depth).write(key).write(" = ").writeValue(value);
+        writeInlineComment(inlineComment);
+        writer.newline();
+    }
+
+    @Override
+    public void list(final @NotNull String key, final @NotNull List<?> values, final @Nullable String inlineComment) {
+        openPending();
+
+        final String indent = writer.getIndent(depth);
+        writer.write(indent).write(key).write(" = ");
+
+        if (values.isEmpty()) {
+            writer.write("[]");
+            writeInlineComment(inlineComment);
+            writer.newline();
+            return;
+        }
+
+        writer.write('[');
+        writeInlineComment(inlineComment);
+        writer.newline();
+
+        final String elementIndent = writer.getIndent(1);
+
+        for (int i = 0; i < values.size(); i++) {
+            writer.write(indent).write(elementIndent).writeElement(values, i);
+
+            if (i != values.size() - 1) writer.write(',');
+            writer.newline();
+        }
+
+        writer.write(indent).write(']').newline();
+    }
+
+    private void openPending() {
+        if (pendingKey == null) return;
+
+        writer.indent(depth++).write(pendingKey).write(" {");
+        writeInlineComment(pendingInlineComment);
+        writer.newline();
+
+        pendingKey = null;
+    }
+
+    @Override
+    public int position() {
+        openPending();
+        return writer.length();
+    }
+
+    @Override
+    public void splice(final @NotNull String text, final int start, final int end) {
+        openPending();
+        writer.write(text, start, end);
+    }
+
+    @NotNull
+    @Override
+    public String text() {
+        return writer.build();
+    }
+
+    private void writeInlineComment(final @Nullable String comment) {
+        if (comment != null) writer.write(" // ").write(comment);
+    }
+}
@@ -1,56 +1,140 @@
 package dev.manere.inscript.format;
 
 import dev.manere.inscript.*;
-import dev.manere.inscript.node.ConfigNode;
 import dev.manere.inscript.node.ScalarNode;
 import dev.manere.inscript.node.SectionNode;
-import dev.manere.inscript.value.InlineValue;
-import dev.manere.inscript.value.ValueRegistry;
-import org.jetbrains.annotations.ApiStatus;
+import dev.manere.inscript.value.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 public class DataScriptFormat implements FileFormat {
+    private final boolean lazy;
+    private final @Nullable ForkJoinPool pool;
+
+    public DataScriptFormat() {
+        this(false, null);
+    }
+
+    private DataScriptFormat(final boolean lazy, final @Nullable ForkJoinPool pool) {
+        this.lazy = lazy;
+        this.pool = pool;
+    }
+
+    /**
+     * A DataScript format that only brace-scans sections while loading and parses each one the first time it is accessed.
+     * Errors inside a section are reported on that first access, or by {@link Inscript#validateAll()}.
+     */
+    @NotNull
+    public static DataScriptFormat lazy() {
+        return new DataScriptFormat(true, null);
+    }
+
+    /**
+     * A DataScript format that parses top-level sections in parallel on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     * On a single core there is nothing to gain, and this is the default format.
+     */
+    @NotNull
+    public static DataScriptFormat parallel() {
+        if (Runtime.getRuntime().availableProcessors() == 1) return new DataScriptFormat();
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * A DataScript format that parses top-level sections in parallel on {@code pool}. The document is read once,
+     * brace-scanning each top-level section into a block of lines; blocks are parsed as they are found, each into its
+     * own detached section, and attached to the root in document order. Errors are returned sorted by line.
+     */
+    @NotNull
+    public static DataScriptFormat parallel(final @NotNull ForkJoinPool pool) {
+        return new DataScriptFormat(false, pool);
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
     @NotNull
     @Override
     @Unmodifiable
     public List<ErrorContext> load(final @NotNull InscriptReader reader, final @NotNull Inscript inscript) {
-        final Set<String> tempComments = new LinkedHashSet<>();
-        final List<ErrorContext> errors = new ArrayList<>();
-        final Set<Integer> processedLines = new LinkedHashSet<>();
-
-        for (int linePosition = 0; linePosition < reader.getLines().size(); linePosition++) {
-            if (processedLines.contains(linePosition)) continue;
-            final String line = reader.read(linePosition);
-            if (line.isBlank()) {
-                processedLines.add(linePosition);
-                continue;
-            }
+        return new DataScriptParser(inscript, lazy, pool).parse(DataScriptTokenizer.tokenizer(reader.getLines()), inscript.getRoot().getSection());
+    }
 
-            try {
-                final Optional<ErrorContext> result = parseNode(new Line(linePosition, line), reader, inscript, new ParseNodeContext(0, tempComments, inscript.getRoot().getSection()), processedLines);
-                result.ifPresent(errors::add);
-            } catch (final Exception e) {
-                ErrorContext.create(new Line(linePosition, line), inscript, "<" + e.getClass().getSimpleName() + "> " + e.getMessage()).handle();
-                e.printStackTrace(System.err);
-            }
-        }
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull Reader reader, final @NotNull Inscript inscript) {
+        // Lazy sections parse their range of the document later, so it is kept whole instead of streamed.
+        final DataScriptTokenizer tokenizer = lazy
+            ? DataScriptTokenizer.tokenizer(new BufferedReader(reader).lines().toList())
+            : DataScriptTokenizer.tokenizer(reader);
 
-        return errors;
+        return new DataScriptParser(inscript, lazy, pool).parse(tokenizer, inscript.getRoot().getSection());
+    }
+
+    /**
+     * Streams the document to {@code handler} without building a tree. Lazy and parallel loading do not apply here.
+     */
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> parse(final @NotNull Reader reader, final @NotNull Inscript inscript, final @NotNull ConfigEventHandler handler) {
+        return new DataScriptParser(inscript, lazy, pool).parse(DataScriptTokenizer.tokenizer(reader), handler, 0);
     }
 
     @NotNull
     @Override
     public String save(final @NotNull ConfigSection root) {
-        final InscriptStringWriter writer = InscriptStringWriter.newWriter();
+        final InscriptStringWriter writer = InscriptStringWriter.newWriter(new StringBuilder(), root.getValueRegistry());
+        writeNodes(writer, root);
 
-        for (final ConfigNode node : root.getChildren()) {
-            writeNode(writer, node, 0);
+        return writer.build();
+    }
+
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull Writer writer) throws IOException {
+        try {
+            writeNodes(InscriptStringWriter.newWriter(writer, root.getValueRegistry()), root);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
         }
+    }
 
-        return writer.build();
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull OutputStream stream, final @NotNull RenderCache cache) throws IOException {
+        final String text = cache.render(root.getSection(), new DataScriptEventWriter(InscriptStringWriter.newWriter(new StringBuilder(cache.size() + 1024), root.getValueRegistry())));
+
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        writer.write(text);
+        writer.flush();
+    }
+
+    private void writeNodes(final @NotNull InscriptStringWriter writer, final @NotNull ConfigSection root) {
+        ConfigEventHandler.emit(root.getSection(), new DataScriptEventWriter(writer));
+    }
+
+    /**
+     * Writes events to {@code writer} as DataScript, in the same layout {@link #save(ConfigSection, Writer)} uses.
+     * I/O failures surface as {@link UncheckedIOException}.
+     */
+    @NotNull
+    public ConfigEventHandler eventWriter(final @NotNull Writer writer) {
+        return eventWriter(writer, ValueRegistry.REGISTRY);
+    }
+
+    @NotNull
+    public ConfigEventHandler eventWriter(final @NotNull Writer writer, final @NotNull ValueRegistry registry) {
+        return new DataScriptEventWriter(InscriptStringWriter.newWriter(writer, registry));
     }
 
     @NotNull
@@ -102,21 +186,7 @@ public class DataScriptFormat implements FileFormat {
 
         if (parts.length == 1) {
             if (lineText.endsWith("{")) {
-                final SectionNode section = new SectionNode() {
-                    private final Set<ConfigNode> nodes = new LinkedHashSet<>();
-
-                    @NotNull
-                    @Override
-                    public Set<ConfigNode> getChildren() {
-                        return nodes;
-                    }
-
-                    @NotNull
-                    @Override
-                    public String getKey() {
-                        return key;
-                    }
-                };
+                final SectionNode section = SectionNode.section(key);
 
                 section.getComments().addAll(context.getComments());
                 if (inlineComment != null) section.getInlineComments().add(inlineComment);
@@ -143,21 +213,7 @@ public class DataScriptFormat implements FileFormat {
                 context.getParent().getChildren().add(section);
                 return Optional.empty();
             } else if (lineText.replaceAll(" ", "").endsWith("{}")) {
-                final SectionNode section = new SectionNode() {
-                    private final Set<ConfigNode> nodes = new LinkedHashSet<>();
-
-                    @NotNull
-                    @Override
-                    public Set<ConfigNode> getChildren() {
-                        return nodes;
-                    }
-
-                    @NotNull
-                    @Override
-                    public String getKey() {
-                        return key;
-                    }
-                };
+                final SectionNode section = SectionNode.section(key);
 
                 section.getComments().addAll(context.getComments());
                 if (inlineComment != null) section.getInlineComments().add(inlineComment);
@@ -218,20 +274,8 @@ public class DataScriptFormat implements FileFormat {
 
                     if (element.equalsIgnoreCase("Null")) continue;
 
-                    InlineValue<?> inlineMatched = ValueRegistry.REGISTRY.getInline(String.class).orElseThrow();
-
-                    for (final InlineValue<?> inline : ValueRegistry.REGISTRY.getInlineRegistry().values()) {
-                        if (inline.equals(ValueRegistry.REGISTRY.getInline(String.class).orElseThrow())) continue;
-
-                        if (inline.matches(element)) {
-                            inlineMatched = inline;
-                            break;
-                        }
-                    }
-
-                    if (inlineMatched.matches(element)) {
-                        list.add(inlineMatched.deserialize(element));
-                    }
+                    final Object deserialized = inscript.getValueRegistry().recognize(element);
+                    if (deserialized != null) list.add(deserialized);
                 }
 
                 final ScalarNode<?> node = new ScalarNode<>() {
@@ -242,7 +286,7 @@ public class DataScriptFormat implements FileFormat {
 
                     @Override
                     public @NotNull Object getValue() {
-                        return List.copyOf(list);
+                        return PrimitiveList.copyOf(list);
                     }
                 };
 
@@ -258,18 +302,7 @@ public class DataScriptFormat implements FileFormat {
             if (value.isBlank()) return Optional.empty();
             if (value.equalsIgnoreCase("Null")) return Optional.empty();
 
-            InlineValue<?> inlineMatched = ValueRegistry.REGISTRY.getInline(String.class).orElseThrow();
-
-            for (final InlineValue<?> inline : ValueRegistry.REGISTRY.getInlineRegistry().values()) {
-                if (inline.equals(ValueRegistry.REGISTRY.getInline(String.class).orElseThrow())) continue;
-
-                if (inline.matches(value)) {
-                    inlineMatched = inline;
-                    break;
-                }
-            }
-
-            final Object o = inlineMatched.deserialize(value);
+            final Object o = inscript.getValueRegistry().recognize(value);
             if (o == null) return Optional.empty();
 
             final ScalarNode<?> node = new ScalarNode<>() {
@@ -294,100 +327,4 @@ public class DataScriptFormat implements FileFormat {
 
         return Optional.empty();
     }
-
-    @ApiStatus.Internal
-    private void writeNode(final @NotNull InscriptStringWriter writer, final @NotNull ConfigNode node, final int depth) {
-        if (depth < 0) throw new InscriptException();
-
-        final String indent = InscriptConstants.INDENT.getValue().apply(depth);
-
-        final String key = node.getKey();
-
-        if (node instanceof SectionNode section) {
-            for (final String comment : section.getComments()) {
-                writer.write(indent + "// " + comment);
-                writer.newLine();
-            }
-
-            if (section.getChildren().isEmpty()) {
-                writer.write(indent + key + " {}");
-                if (!section.getInlineComments().isEmpty()) {
-                    writer.write(" // " + String.join(" ", section.getInlineComments()));
-                }
-                writer.newline();
-                return;
-            }
-
-            writer.write(indent + key + " {");
-            if (!section.getInlineComments().isEmpty()) {
-                writer.write(" // " + String.join(" ", section.getInlineComments()));
-            }
-            writer.write("\n");
-
-            for (final ConfigNode child : section.getChildren()) {
-                writeNode(writer, child, depth + 1);
-            }
-
-            writer.write(indent + "}\n");
-        } else if (node instanceof ScalarNode<?> scalar) {
-            for (final String comment : scalar.getComments()) {
-                writer.write(indent + "// " + comment);
-                writer.newLine();
-            }
-
-            final Object objectValue = scalar.getValue();
-            final Class<?> type = objectValue.getClass();
-
-            if (objectValue instanceof List<?> list) {
-                if (list.isEmpty()) {
-                    writer.write(indent + key + " = []");
-                    if (!scalar.getInlineComments().isEmpty()) {
-                        writer.write(" // " + String.join(" ", scalar.getInlineComments()));
-                    }
-                    writer.newLine();
-                } else {
-                    writer.write(indent + key + " = [");
-                    if (!scalar.getInlineComments().isEmpty()) {
-                        writer.write(" // " + String.join(" ", scalar.getInlineComments()));
-                    }
-                    writer.newline();
-
-                    for (int i = 0; i < list.size(); i++) {
-                        final Object element = list.get(i);
-
-                        final InlineValue<Object> value = ValueRegistry.REGISTRY.getInline(element.getClass()).orElse(null);
-
-                        if (value == null) {
-                            writer.write(indent + InscriptConstants.INDENT.getValue().apply(1) + element);
-                        } else {
-                            writer.write(indent + InscriptConstants.INDENT.getValue().apply(1) + value.serialize(element));
-                        }
-
-                        if (i != list.size() - 1) {
-                            writer.write(",");
-                            writer.newline();
-                            continue;
-                        }
-
-                        writer.newLine();
-                    }
-
-                    writer.write(indent + "]\n");
-                }
-            } else {
-                final InlineValue<Object> value = ValueRegistry.REGISTRY.getInline(type).orElse(null);
-
-                if (value == null) {
-                    writer.write(indent + key + " = " + objectValue);
-                } else {
-                    writer.write(indent + key + " = " + value.serialize(objectValue));
-                }
-
-                if (!scalar.getInlineComments().isEmpty()) {
-                    writer.write(" // " + String.join(" ", scalar.getInlineComments()));
-                }
-                writer.write("\n");
-            }
-        }
-    }
 }
@@ -0,0 +1,308 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.ErrorContext;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.InscriptConstants;
+import dev.manere.inscript.node.LazySectionNode;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.PrimitiveList;
+import dev.manere.inscript.value.ValueRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+final class DataScriptParser {
+    /**
+     * Top-level sections are handed to the pool in groups of at least this many lines.
+     */
+    private static final int GROUP_LINES = 4096;
+
+    private final Inscript inscript;
+    private final ValueRegistry registry;
+    private final boolean lazy;
+    private final @Nullable ForkJoinPool pool;
+    private final List<ForkJoinTask<List<ErrorContext>>> tasks = new ArrayList<>();
+    private final List<List<Block>> forked = new ArrayList<>();
+    private final List<Block> group = new ArrayList<>();
+    private int groupLines;
+    private final List<ErrorContext> errors = new ArrayList<>();
+    private final List<String> comments = new ArrayList<>();
+    private final List<String> indents = new ArrayList<>();
+
+    private ConfigEventHandler handler;
+    private @Nullable ConfigTreeBuilder builder;
+    private int depth;
+    private int baseDepth;
+
+    /**
+     * Sections from this depth on are skipped because one of them was misplaced; their lines are still checked.
+     */
+    private int skippedDepth = Integer.MAX_VALUE;
+
+    /**
+     * @param lazy whether sections are only brace-scanned and parsed into a {@link LazySectionNode} when first accessed
+     */
+    DataScriptParser(final @NotNull Inscript inscript, final boolean lazy) {
+        this(inscript, lazy, null);
+    }
+
+    /**
+     * @param pool if not {@code null}, top-level sections are only brace-scanned here and parsed on {@code pool},
+     *             each into its own detached section, which is attached in document order once every block is parsed
+     */
+    DataScriptParser(final @NotNull Inscript inscript, final boolean lazy, final @Nullable ForkJoinPool pool) {
+        this.inscript = inscript;
+        this.registry = inscript.getValueRegistry();
+        this.lazy = lazy;
+        this.pool = pool;
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull DataScriptTokenizer tokenizer, final @NotNull SectionNode root) {
+        return parse(tokenizer, new ConfigTreeBuilder(root), 0);
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull DataScriptTokenizer tokenizer, final @NotNull SectionNode root, final int baseDepth) {
+        return parse(tokenizer, new ConfigTreeBuilder(root), baseDepth);
+    }
+
+    /**
+     * May be called again with another handler; errors keep accumulating in the returned list.
+     * Lazy and parallel parsing need a {@link ConfigTreeBuilder}, any other handler receives every section as events.
+     *
+     * @param baseDepth the nesting depth the events start at in the whole document, which the indentation is checked against
+     */
+    @NotNull
+    List<ErrorContext> parse(final @NotNull DataScriptTokenizer tokenizer, final @NotNull ConfigEventHandler handler, final int baseDepth) {
+        this.handler = handler;
+        this.builder = handler instanceof ConfigTreeBuilder tree ? tree : null;
+        this.baseDepth = baseDepth;
+        depth = 0;
+        skippedDepth = Integer.MAX_VALUE;
+        comments.clear();
+
+        while (tokenizer.next()) {
+            try {
+                accept(tokenizer);
+            } catch (final Exception e) {
+                error(tokenizer.getPosition(), tokenizer.getText(), "<" + e.getClass().getSimpleName() + "> " + e.getMessage());
+            }
+        }
+
+        // An unclosed section simply ends with the document.
+        for (; depth > 0; depth--) {
+            if (depth < skippedDepth) handler.endSection();
+        }
+
+        if (pool != null) join();
+        return errors;
+    }
+
+    private void accept(final @NotNull DataScriptTokenizer token) {
+        final DataScriptTokenizer.Kind kind = token.getKind();
+
+        if (kind == DataScriptTokenizer.Kind.BLANK) return;
+
+        if (kind == DataScriptTokenizer.Kind.CLOSE) {
+            if (depth > 0) {
+                if (depth < skippedDepth) handler.endSection();
+                if (--depth < skippedDepth) skippedDepth = Integer.MAX_VALUE;
+            }
+
+            comments.clear();
+            return;
+        }
+
+        final String indent = indent(baseDepth + depth);
+        final String text = token.getText();
+
+        if (!text.startsWith(indent)) {
+            final String actualIndent = text.substring(0, text.length() - text.trim().length());
+            error(token.getPosition(), text, "Invalid indentation, expected '" + indent + "' but found '" + actualIndent + "'");
+
+            // Keep the brace balance intact so the lines that follow still land in the right section.
+            if (kind == DataScriptTokenizer.Kind.SECTION) {
+                depth++;
+                skippedDepth = Math.min(skippedDepth, depth);
+            }
+
+            return;
+        }
+
+        switch (kind) {
+            case COMMENT -> comments.add(token.getComment());
+            case SECTION -> {
+                if (lazy && builder != null) {
+                    defer(token);
+                    return;
+                }
+
+                if (pool != null && builder != null && baseDepth + depth == 0) {
+                    fork(token);
+                    return;
+                }
+
+                if (flushComments()) handler.startSection(token.getKey(), token.getComment());
+                depth++;
+            }
+            case EMPTY_SECTION -> {
+                if (!flushComments()) return;
+
+                handler.startSection(token.getKey(), token.getComment());
+                handler.endSection();
+            }
+            case EMPTY_LIST -> {
+                if (flushComments()) handler.list(token.getKey(), List.of(), token.getComment());
+            }
+            case LIST -> list(token);
+            case SCALAR -> {
+                final Object value = registry.recognize(token.getValue());
+                if (value != null && flushComments()) handler.scalar(token.getKey(), value, token.getComment());
+            }
+            default -> {}
+        }
+    }
+
+    private void list(final @NotNull DataScriptTokenizer token) {
+        final int position = token.getPosition();
+        final StringBuilder content = new StringBuilder(token.getValue());
+
+        while (content.charAt(content.length() - 1) != ']') {
+            final String next = token.nextRaw();
+
+            if (next == null) {
+                error(position, token.getStrippedText(), "Invalid list");
+                return;
+            }
+
+            content.append(next.trim());
+        }
+
+        final String[] elements = content.substring(1, content.length() - 1).trim().split(",");
+        final List<Object> list = new ArrayList<>(elements.length);
+
+        for (String element : elements) {
+            element = element.trim();
+            if (element.equalsIgnoreCase("Null")) continue;
+
+            final Object value = registry.recognize(element);
+            if (value != null) list.add(value);
+        }
+
+        if (flushComments()) handler.list(token.getKey(), PrimitiveList.copyOf(list), token.getComment());
+    }
+
+    private void defer(final @NotNull DataScriptTokenizer token) {
+        // Blocks keep only their range of the document, which every lazy section and its nested ones share.
+        final List<String> document = Objects.requireNonNull(token.getDocument(), "Lazy parsing needs the whole document in one list");
+        final String key = token.getKey();
+        final String comment = token.getComment();
+        final int start = token.getPosition() + 1;
+        final int blockDepth = baseDepth + depth + 1;
+
+        final boolean attach = flushComments();
+        final int end = token.skipSection(null) ? token.getPosition() : token.getNextPosition();
+
+        if (attach) {
+            builder.attach(new LazySectionNode(key, target -> new DataScriptParser(inscript, true)
+                .parse(DataScriptTokenizer.tokenizer(document, start, end), target, blockDepth)), comment);
+        }
+    }
+
+    private void fork(final @NotNull DataScriptTokenizer token) {
+        // The empty placeholder keeps the section's place and comments; workers never touch the attached tree.
+        final SectionNode placeholder = SectionNode.section(token.getKey());
+        final Block block = new Block(builder.current(), placeholder, SectionNode.section(token.getKey()), new ArrayList<>(), token.getPosition() + 1);
+
+        flushComments();
+        builder.attach(placeholder, token.getComment());
+        token.skipSection(block.lines);
+
+        group.add(block);
+        groupLines += block.lines.size() + 2;
+
+        if (groupLines >= GROUP_LINES) submit();
+    }
+
+    private void submit() {
+        if (group.isEmpty()) return;
+
+        final List<Block> blocks = List.copyOf(group);
+        group.clear();
+        groupLines = 0;
+        forked.add(blocks);
+
+        tasks.add(pool.submit(() -> {
+            final DataScriptParser parser = new DataScriptParser(inscript, false);
+            List<ErrorContext> found = List.of();
+
+            for (final Block block : blocks) {
+                found = parser.parse(DataScriptTokenizer.tokenizer(block.lines, block.firstPosition), block.section, 1);
+            }
+
+            return found;
+        }));
+    }
+
+    private void join() {
+        submit();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            errors.addAll(tasks.get(i).join());
+
+            for (final Block block : forked.get(i)) {
+                final SectionNode placeholder = block.placeholder;
+                if (block.parent.getChild(placeholder.getKey()) != placeholder) continue;
+
+                block.section.getComments().addAll(placeholder.getComments());
+                block.section.getInlineComments().addAll(placeholder.getInlineComments());
+
+                // Replacing a child keeps its position, so sections end up in document order.
+                block.parent.putChild(block.section);
+            }
+        }
+
+        tasks.clear();
+        forked.clear();
+
+        // Blocks report their errors after the top-level ones; sorting by line restores document order.
+        errors.sort(Comparator.comparingInt(ErrorContext::getPosition));
+    }
+
+    /**
+     * Sends the comments read since the last node to the handler, unless the node is being skipped.
+     *
+     * @return whether the node should be sent too
+     */
+    private boolean flushComments() {
+        if (depth >= skippedDepth) {
+            comments.clear();
+            return false;
+        }
+
+        for (final String comment : comments) handler.comment(comment);
+        comments.clear();
+
+        return true;
+    }
+
+    @NotNull
+    private String indent(final int depth) {
+        while (indents.size() <= depth) indents.add(InscriptConstants.INDENT.getValue().apply(indents.size()));
+        return indents.get(depth);
+    }
+
+    private void error(final int position, final @NotNull String text, final @NotNull String error) {
+        errors.add(ErrorContext.create(new Line(position, text), inscript, error));
+    }
+
+    private record Block(@NotNull SectionNode parent, @NotNull SectionNode placeholder, @NotNull SectionNode section, @NotNull List<String> lines, int firstPosition) {}
+}
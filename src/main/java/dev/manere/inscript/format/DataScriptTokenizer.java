@@ -0,0 +1,339 @@
+package dev.manere.inscript.format;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.List;
+
+final class DataScriptTokenizer {
+    enum Kind {
+        BLANK,
+        COMMENT,
+        SECTION,
+        EMPTY_SECTION,
+        CLOSE,
+        SCALAR,
+        LIST,
+        EMPTY_LIST,
+        IGNORED
+    }
+
+    private final Iterator<String> lines;
+    private final @Nullable List<String> document;
+
+    private int cursor;
+    private int position;
+    private String text;
+    private Kind kind;
+
+    private int contentStart;
+    private int contentEnd;
+
+    private String key;
+    private String value;
+    private String comment;
+
+    private DataScriptTokenizer(final @NotNull Iterator<String> lines, final int firstPosition, final @Nullable List<String> document) {
+        this.lines = lines;
+        this.cursor = firstPosition - 1;
+        this.document = document;
+    }
+
+    @NotNull
+    static DataScriptTokenizer tokenizer(final @NotNull Reader reader) {
+        final BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        return new DataScriptTokenizer(buffered.lines().iterator(), 0, null);
+    }
+
+    @NotNull
+    static DataScriptTokenizer tokenizer(final @NotNull Iterable<String> lines) {
+        return new DataScriptTokenizer(lines.iterator(), 0, lines instanceof List<String> document ? document : null);
+    }
+
+    /**
+     * Tokenizes the lines of {@code document} from {@code start} until {@code end}, positioned as in the whole document.
+     */
+    @NotNull
+    static DataScriptTokenizer tokenizer(final @NotNull List<String> document, final int start, final int end) {
+        return new DataScriptTokenizer(document.subList(start, end).iterator(), start, document);
+    }
+
+    /**
+     * @param firstPosition the position of the first line in the whole document, for error reporting
+     */
+    @NotNull
+    static DataScriptTokenizer tokenizer(final @NotNull Iterable<String> lines, final int firstPosition) {
+        return new DataScriptTokenizer(lines.iterator(), firstPosition, null);
+    }
+
+    boolean next() {
+        if (!lines.hasNext()) return false;
+
+        text = lines.next();
+        position = ++cursor;
+        key = null;
+        value = null;
+        comment = null;
+        kind = classify();
+
+        return true;
+    }
+
+    /**
+     * Skips past the brace closing the section just read, adding every line before it to {@code block} unless that is {@code null}.
+     * Lines are only inspected as far as needed to balance braces, exactly as {@link #next()} would classify them,
+     * including multi-line lists. Returns {@code false} if the document ended first.
+     */
+    boolean skipSection(final @Nullable List<String> block) {
+        int depth = 1;
+
+        while (lines.hasNext()) {
+            text = lines.next();
+            position = ++cursor;
+            key = null;
+            value = null;
+            comment = null;
+
+            switch (skim()) {
+                case SECTION -> depth++;
+                case CLOSE -> {
+                    if (--depth == 0) return true;
+                }
+                case LIST -> {
+                    if (block != null) block.add(text);
+                    skipList(block);
+                    continue;
+                }
+                default -> {}
+            }
+
+            if (block != null) block.add(text);
+        }
+
+        return false;
+    }
+
+    private void skipList(final @Nullable List<String> block) {
+        char last = value.charAt(value.length() - 1);
+
+        while (last != ']') {
+            final String next = nextRaw();
+            if (next == null) return;
+
+            if (block != null) block.add(next);
+
+            final String stripped = next.trim();
+            if (!stripped.isEmpty()) last = stripped.charAt(stripped.length() - 1);
+        }
+    }
+
+    /**
+     * Like {@link #classify()}, but only tells sections, closing braces and lists apart, without extracting keys or values
+     * unless the line may start a list.
+     */
+    @NotNull
+    private Kind skim() {
+        final String text = this.text;
+
+        int start = 0;
+        int end = text.length();
+
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        if (start == end || text.startsWith("//", start)) return Kind.IGNORED;
+
+        final int inline = text.indexOf(" //", start);
+        if (inline != -1 && inline + 3 <= end) {
+            end = inline;
+            while (end > start && text.charAt(end - 1) <= ' ') end--;
+            if (start == end) return Kind.IGNORED;
+        }
+
+        if (end - start == 1 && text.charAt(start) == '}') return Kind.CLOSE;
+
+        final int equals = text.indexOf('=', start);
+        if (equals == -1 || equals >= end) return text.charAt(end - 1) == '{' ? Kind.SECTION : Kind.IGNORED;
+
+        int valueStart = equals + 1;
+        while (valueStart < end && text.charAt(valueStart) <= ' ') valueStart++;
+        if (valueStart == end || text.charAt(valueStart) != '[') return Kind.IGNORED;
+
+        final Kind kind = classify();
+        return kind == Kind.LIST ? kind : Kind.IGNORED;
+    }
+
+    @Nullable
+    String nextRaw() {
+        if (!lines.hasNext()) return null;
+
+        cursor++;
+        return lines.next();
+    }
+
+    @NotNull
+    Kind getKind() {
+        return kind;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * The position of the line after the last one read, including lines read by {@link #nextRaw()}.
+     */
+    int getNextPosition() {
+        return cursor + 1;
+    }
+
+    /**
+     * The whole document, if the lines are read from one list and positioned as in it.
+     */
+    @Nullable
+    List<String> getDocument() {
+        return document;
+    }
+
+    @NotNull
+    String getText() {
+        return text;
+    }
+
+    @NotNull
+    String getStrippedText() {
+        return comment == null || kind == Kind.COMMENT ? text : text.substring(contentStart, contentEnd);
+    }
+
+    @NotNull
+    String getKey() {
+        return key;
+    }
+
+    @NotNull
+    String getValue() {
+        return value;
+    }
+
+    @Nullable
+    String getComment() {
+        return comment;
+    }
+
+    @NotNull
+    private Kind classify() {
+        final String text = this.text;
+        if (text.isBlank()) return Kind.BLANK;
+
+        int start = 0;
+        int end = text.length();
+
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        contentStart = start;
+        contentEnd = end;
+
+        if (start == end) return Kind.IGNORED;
+
+        if (text.startsWith("//", start)) {
+            comment = text.substring(start + 2, end).trim();
+            return Kind.COMMENT;
+        }
+
+        final int inline = text.indexOf(" //", start);
+        if (inline != -1 && inline + 3 <= end) {
+            comment = text.substring(inline + 3, end).trim();
+
+            end = inline;
+            while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+            contentEnd = end;
+            if (start == end) return Kind.IGNORED;
+        }
+
+        if (end - start == 3 && text.startsWith("...", start)) return Kind.IGNORED;
+        if (end - start == 1 && text.charAt(start) == '}') return Kind.CLOSE;
+
+        final int equals = text.indexOf('=', start);
+
+        if (equals == -1 || equals >= end) {
+            key = key(start, end);
+
+            if (text.charAt(end - 1) == '{') return Kind.SECTION;
+            if (endsWithEmptyBraces(start, end)) return Kind.EMPTY_SECTION;
+
+            return Kind.IGNORED;
+        }
+
+        // Mirrors String#split("="): trailing '=' runs collapse, any further segment makes the line invalid.
+        int valueEnd = text.indexOf('=', equals + 1);
+        if (valueEnd == -1 || valueEnd >= end) {
+            valueEnd = end;
+        } else {
+            for (int i = valueEnd; i < end; i++) {
+                if (text.charAt(i) != '=') return Kind.IGNORED;
+            }
+        }
+
+        int valueStart = equals + 1;
+        while (valueStart < valueEnd && text.charAt(valueStart) <= ' ') valueStart++;
+        while (valueEnd > valueStart && text.charAt(valueEnd - 1) <= ' ') valueEnd--;
+
+        if (valueStart == valueEnd) return Kind.IGNORED;
+
+        key = key(start, equals);
+        value = text.substring(valueStart, valueEnd);
+
+        if (isEmptyList(value)) return Kind.EMPTY_LIST;
+        if (value.charAt(0) == '[') return Kind.LIST;
+        if (value.equalsIgnoreCase("Null")) return Kind.IGNORED;
+
+        return Kind.SCALAR;
+    }
+
+    @NotNull
+    private String key(int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') from++;
+        while (to > from && text.charAt(to - 1) <= ' ') to--;
+
+        final String name = text.substring(from, to);
+        if (name.indexOf('{') == -1 && name.indexOf('}') == -1) return name;
+
+        return name
+            .replace("{", "")
+            .replace("}", "")
+            .trim();
+    }
+
+    private boolean endsWithEmptyBraces(final int start, int end) {
+        if (text.charAt(end - 1) != '}') return false;
+
+        end--;
+        while (end > start && text.charAt(end - 1) == ' ') end--;
+
+        return end > start && text.charAt(end - 1) == '{';
+    }
+
+    private static boolean isEmptyList(final @NotNull String value) {
+        int found = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == ' ') continue;
+
+            if (found == 0 && c == '[') {
+                found = 1;
+            } else if (found == 1 && c == ']') {
+                found = 2;
+            } else {
+                return false;
+            }
+        }
+
+        return found == 2;
+    }
+}
@@ -6,6 +6,8 @@ import dev.manere.inscript.Inscript;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -16,12 +18,63 @@ public interface FileFormat {
     @Unmodifiable
     List<ErrorContext> load(final @NotNull InscriptReader reader, final @NotNull Inscript inscript);
 
+    @NotNull
+    @Unmodifiable
+    default List<ErrorContext> load(final @NotNull Reader reader, final @NotNull Inscript inscript) {
+        final BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        return load(newReader(buffered.lines().toList()), inscript);
+    }
+
+    @NotNull
+    @Unmodifiable
+    default List<ErrorContext> load(final @NotNull InputStream stream, final @NotNull Inscript inscript) throws IOException {
+        return load(new InputStreamReader(stream, StandardCharsets.UTF_8), inscript);
+    }
+
+    /**
+     * Reads {@code reader} and hands its contents to {@code handler} as events, without keeping the tree.
+     * The default loads a temporary tree and replays it; text formats override this to stream.
+     *
+     * @param inscript the Inscript errors are reported against and whose registry reads values, its own tree is left untouched
+     */
+    @NotNull
+    @Unmodifiable
+    default List<ErrorContext> parse(final @NotNull Reader reader, final @NotNull Inscript inscript, final @NotNull ConfigEventHandler handler) {
+        final Inscript target = Inscript.builder().format(this).registry(inscript.getValueRegistry()).build();
+        final List<ErrorContext> errors = load(reader, target);
+
+        ConfigEventHandler.emit(target.getRoot().getSection(), handler);
+        return errors;
+    }
+
     @NotNull
     Optional<ErrorContext> parseNode(final @NotNull Line line, final @NotNull InscriptReader reader, final @NotNull Inscript inscript, final @NotNull ParseNodeContext context, final @NotNull Set<Integer> processedLines);
 
+    /**
+     * Writes values with the {@linkplain ConfigSection#getValueRegistry() registry} of {@code root}.
+     */
     @NotNull
     String save(final @NotNull ConfigSection root);
 
+    default void save(final @NotNull ConfigSection root, final @NotNull Writer writer) throws IOException {
+        writer.write(save(root));
+    }
+
+    default void save(final @NotNull ConfigSection root, final @NotNull OutputStream stream) throws IOException {
+        // Writers emit many short strings; the encoder allocates on every call it is given directly.
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        save(root, writer);
+        writer.flush();
+    }
+
+    /**
+     * Saves like {@link #save(ConfigSection, OutputStream)}, copying text kept in {@code cache} for sections
+     * that are unchanged since an earlier save with it. Formats that cannot reuse text ignore the cache.
+     */
+    default void save(final @NotNull ConfigSection root, final @NotNull OutputStream stream, final @NotNull RenderCache cache) throws IOException {
+        save(root, stream);
+    }
+
     @NotNull
     @Unmodifiable
     Collection<String> getValidFileExtensions();
@@ -13,9 +13,13 @@ public interface FileFormats {
     @NotNull
     FileFormat YAML = new YAMLFormat();
 
+    @NotNull
+    FileFormat BINARY = new BinaryFormat();
+
     @NotNull
     Collection<FileFormat> FORMATS = new HashSet<>(Set.of(
         DATASCRIPT,
-        YAML
+        YAML,
+        BINARY
     ));
 }
@@ -1,29 +1,164 @@
 package dev.manere.inscript.format;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import dev.manere.inscript.InscriptConstants;
+import dev.manere.inscript.InscriptException;
+import dev.manere.inscript.value.*;
+import dev.manere.inscript.value.impl.DoubleValue;
+import dev.manere.inscript.value.impl.IntegerValue;
+import dev.manere.inscript.value.impl.LongValue;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
 public class InscriptStringWriter {
-    private String content = "";
+    private final Appendable sink;
+    private final ValueRegistry registry;
+    private final Function<Integer, String> indentFunction = InscriptConstants.INDENT.getValue();
+    private final List<String> indents = new ArrayList<>();
 
-    private InscriptStringWriter() {}
+    private InscriptStringWriter(final @NotNull Appendable sink, final @NotNull ValueRegistry registry) {
+        this.sink = sink;
+        this.registry = registry;
+    }
 
     @NotNull
     public static InscriptStringWriter newWriter() {
-        return new InscriptStringWriter();
+        return new InscriptStringWriter(new StringBuilder(), ValueRegistry.REGISTRY);
+    }
+
+    /**
+     * Writes straight into {@code sink}; I/O failures surface as {@link UncheckedIOException}.
+     */
+    @NotNull
+    public static InscriptStringWriter newWriter(final @NotNull Appendable sink) {
+        return new InscriptStringWriter(sink, ValueRegistry.REGISTRY);
+    }
+
+    /**
+     * Writes into {@code sink}, serializing values with {@code registry} instead of the global one.
+     */
+    @NotNull
+    public static InscriptStringWriter newWriter(final @NotNull Appendable sink, final @NotNull ValueRegistry registry) {
+        return new InscriptStringWriter(sink, registry);
     }
 
     @NotNull
     @CanIgnoreReturnValue
-    public InscriptStringWriter write(final @NotNull String text) {
-        this.content += text;
+    public InscriptStringWriter write(final @NotNull CharSequence text) {
+        try {
+            sink.append(text);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
         return this;
     }
 
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter write(final @NotNull CharSequence text, final int start, final int end) {
+        try {
+            sink.append(text, start, end);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter write(final char c) {
+        try {
+            sink.append(c);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes {@code value} in decimal, straight into the builder when writing to one.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter writeInt(final int value) {
+        if (sink instanceof StringBuilder builder) {
+            builder.append(value);
+            return this;
+        }
+
+        return write(String.valueOf(value));
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter writeLong(final long value) {
+        if (sink instanceof StringBuilder builder) {
+            builder.append(value);
+            return this;
+        }
+
+        return write(String.valueOf(value));
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter writeDouble(final double value) {
+        if (sink instanceof StringBuilder builder) {
+            builder.append(value);
+            return this;
+        }
+
+        return write(String.valueOf(value));
+    }
+
+    /**
+     * Writes {@code value} as the text of its registered {@link InlineValue}, or {@link String#valueOf(Object)} if it has none.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter writeValue(final @NotNull Object value) {
+        final InlineValue<Object> inline = registry.getInline(value.getClass()).orElse(null);
+        return write(inline == null ? String.valueOf(value) : inline.serialize(value));
+    }
+
+    /**
+     * Writes {@code list.get(index)}, reading primitive lists unboxed while the built-in number values are registered.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    InscriptStringWriter writeElement(final @NotNull List<?> list, final int index) {
+        return switch (list) {
+            case IntList ints when registry.<Integer>getInline(Integer.class).orElse(null) instanceof IntegerValue -> writeInt(ints.getInt(index));
+            case LongList longs when registry.<Long>getInline(Long.class).orElse(null) instanceof LongValue -> writeLong(longs.getLong(index)).write('L');
+            case DoubleList doubles when registry.<Double>getInline(Double.class).orElse(null) instanceof DoubleValue -> writeDouble(doubles.getDouble(index)).write('D');
+            default -> writeValue(list.get(index));
+        };
+    }
+
+    @NotNull
+    @CanIgnoreReturnValue
+    public InscriptStringWriter indent(final int depth) {
+        return write(getIndent(depth));
+    }
+
+    @NotNull
+    public String getIndent(final int depth) {
+        while (indents.size() <= depth) indents.add(indentFunction.apply(indents.size()));
+        return indents.get(depth);
+    }
+
     @NotNull
     @CanIgnoreReturnValue
     public InscriptStringWriter newline() {
-        return write("\n");
+        return write('\n');
     }
 
     @NotNull
@@ -32,14 +167,23 @@ public class InscriptStringWriter {
         return newline();
     }
 
+    /**
+     * The number of characters written so far.
+     */
+    int length() {
+        if (!(sink instanceof CharSequence content)) throw new InscriptException("Cannot measure a writer that streams into " + sink.getClass().getName());
+        return content.length();
+    }
+
     @NotNull
     public String build() {
-        return content;
+        if (!(sink instanceof CharSequence content)) throw new InscriptException("Cannot build a writer that streams into " + sink.getClass().getName());
+        return content.toString();
     }
 
     @NotNull
     @Override
     public String toString() {
-        return build();
+        return sink instanceof CharSequence content ? content.toString() : super.toString();
     }
 }
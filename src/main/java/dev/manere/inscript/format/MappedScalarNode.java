@@ -0,0 +1,61 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.node.ScalarNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Set;
+
+/**
+ * A read-only scalar backed by a {@link BinaryFormat} record, decoding its value and comments on first access.
+ */
+final class MappedScalarNode extends ScalarNode<Object> {
+    private final BinaryReader reader;
+    private final String key;
+    private final int offset;
+
+    private volatile Object value;
+    private volatile Set<String> comments;
+    private volatile Set<String> inlineComments;
+
+    MappedScalarNode(final @NotNull BinaryReader reader, final @NotNull String key, final int offset) {
+        this.reader = reader;
+        this.key = key;
+        this.offset = offset;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public Object getValue() {
+        Object value = this.value;
+        if (value == null) this.value = value = reader.decode(() -> reader.readValue(offset));
+
+        return value;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getComments() {
+        Set<String> comments = this.comments;
+        if (comments == null) this.comments = comments = reader.decode(() -> reader.readCommentSet(offset, false));
+
+        return comments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getInlineComments() {
+        Set<String> inlineComments = this.inlineComments;
+        if (inlineComments == null) this.inlineComments = inlineComments = reader.decode(() -> reader.readCommentSet(offset, true));
+
+        return inlineComments;
+    }
+}
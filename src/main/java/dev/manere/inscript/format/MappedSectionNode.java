@@ -0,0 +1,80 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.InscriptConstants;
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A read-only section backed by a {@link BinaryFormat} record. Its index is only decoded when its children are first
+ * accessed, and then only into placeholders; nothing below them is read until they are accessed in turn.
+ */
+final class MappedSectionNode extends SectionNode {
+    private final BinaryReader reader;
+    private final String key;
+    private final int offset;
+    private final boolean root;
+
+    private volatile Map<String, ConfigNode> children;
+    private volatile Set<String> comments;
+    private volatile Set<String> inlineComments;
+
+    MappedSectionNode(final @NotNull BinaryReader reader, final @NotNull String key, final int offset, final boolean root) {
+        this.reader = reader;
+        this.key = key;
+        this.offset = offset;
+        this.root = root;
+    }
+
+    @NotNull
+    static MappedSectionNode root(final @NotNull BinaryReader reader) {
+        if (!reader.isSection(reader.getRootOffset())) throw new IllegalArgumentException("Root record is not a section");
+        return new MappedSectionNode(reader, InscriptConstants.ROOT_SECTION_KEY.getValue(), reader.getRootOffset(), true);
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean isRoot() {
+        return root;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getComments() {
+        Set<String> comments = this.comments;
+        if (comments == null) this.comments = comments = reader.decode(() -> reader.readCommentSet(offset, false));
+
+        return comments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getInlineComments() {
+        Set<String> inlineComments = this.inlineComments;
+        if (inlineComments == null) this.inlineComments = inlineComments = reader.decode(() -> reader.readCommentSet(offset, true));
+
+        return inlineComments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    protected Map<String, ConfigNode> children() {
+        Map<String, ConfigNode> children = this.children;
+        if (children == null) this.children = children = Collections.unmodifiableMap(reader.decode(() -> reader.readMappedChildren(offset)));
+
+        return children;
+    }
+}
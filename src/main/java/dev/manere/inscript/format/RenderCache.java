@@ -0,0 +1,169 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.FrozenSectionNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Remembers where each {@link FrozenSectionNode} ended up in the last text a format saved with it. Frozen sections never change
+ * and consecutive freezes of a tree share the sections that did not, so the next save copies their text instead of rendering them again.
+ * <p>
+ * Positions are kept relative to the parent section, so copying a section leaves the entries below it valid and a save only
+ * touches the children of the sections it renders. Holds the previous text; not thread-safe, use one cache per file.
+ */
+public final class RenderCache {
+    private final Map<SectionNode, Range> ranges = new WeakHashMap<>();
+    private String text = "";
+    private @Nullable SectionNode last;
+
+    private RenderCache() {}
+
+    @NotNull
+    public static RenderCache newCache() {
+        return new RenderCache();
+    }
+
+    public void clear() {
+        ranges.clear();
+        text = "";
+        last = null;
+    }
+
+    /**
+     * The length of the last text, a good initial capacity for the next one.
+     */
+    int size() {
+        return text.length();
+    }
+
+    /**
+     * Emits the children of {@code root} to {@code target}, copying cached text for sections saved before.
+     *
+     * @return everything {@code target} wrote
+     */
+    @NotNull
+    String render(final @NotNull SectionNode root, final @NotNull Target target) {
+        try {
+            emit(root, last, 0, target, 0, 0);
+
+            text = target.text();
+            last = root;
+            return text;
+        } catch (final RuntimeException e) {
+            // Entries may already point into text that was never completed.
+            clear();
+            throw e;
+        }
+    }
+
+    /**
+     * @param previous the image of {@code section} in the last text, where it starts at {@code oldBase}; {@code section} starts at {@code newBase}
+     */
+    private void emit(final @NotNull SectionNode section, final @Nullable SectionNode previous, final int oldBase, final @NotNull Target target, final int newBase, final int depth) {
+        // Unchanged siblings usually sit next to each other in the old text too, so they are copied as one run.
+        int runStart = -1;
+        int runEnd = -1;
+        int runPosition = -1;
+
+        for (final ConfigNode node : section.getChildren()) {
+            final Range cached = node instanceof FrozenSectionNode child ? find(child, previous, depth) : null;
+
+            if (cached != null) {
+                final int start = oldBase + cached.start();
+
+                if (start != runEnd) {
+                    if (runStart != -1) target.splice(text, runStart, runEnd);
+
+                    runStart = start;
+                    runPosition = target.position();
+                }
+
+                runEnd = oldBase + cached.end();
+
+                final int position = runPosition + start - runStart - newBase;
+                ranges.put((SectionNode) node, new Range(position, position + cached.end() - cached.start(), depth, new WeakReference<>(section)));
+                continue;
+            }
+
+            if (runStart != -1) {
+                target.splice(text, runStart, runEnd);
+                runStart = runEnd = -1;
+            }
+
+            if (!(node instanceof FrozenSectionNode child)) {
+                emitNode(node, null, 0, target, depth);
+                continue;
+            }
+
+            // The section changed, but its old image may still hold children worth copying.
+            final ConfigNode old = previous == null ? null : previous.getChild(child.getKey());
+            final Range oldRange = old instanceof FrozenSectionNode image ? find(image, previous, depth) : null;
+
+            final int position = target.position();
+            emitNode(child, oldRange == null ? null : (SectionNode) old, oldRange == null ? 0 : oldBase + oldRange.start(), target, depth);
+            ranges.put(child, new Range(position - newBase, target.position() - newBase, depth, new WeakReference<>(section)));
+        }
+
+        if (runStart != -1) target.splice(text, runStart, runEnd);
+    }
+
+    /**
+     * The entry of {@code section} if it was written as the child of {@code parent} in the last text.
+     */
+    @Nullable
+    private Range find(final @NotNull SectionNode section, final @Nullable SectionNode parent, final int depth) {
+        if (parent == null || parent.getChild(section.getKey()) != section) return null;
+
+        final Range range = ranges.get(section);
+        return range != null && range.depth() == depth && range.parent().get() == parent ? range : null;
+    }
+
+    private void emitNode(final @NotNull ConfigNode node, final @Nullable SectionNode previous, final int oldBase, final @NotNull Target target, final int depth) {
+        final int position = target.position();
+
+        for (final String comment : node.getComments()) target.comment(comment);
+
+        final String inlineComment = node.getInlineComments().isEmpty() ? null : String.join(" ", node.getInlineComments());
+
+        if (node instanceof SectionNode section) {
+            target.startSection(section.getKey(), inlineComment);
+            emit(section, previous, oldBase, target, position, depth + 1);
+            target.endSection();
+        } else if (node instanceof ScalarNode<?> scalar) {
+            if (scalar.getValue() instanceof List<?> list) {
+                target.list(scalar.getKey(), list, inlineComment);
+            } else {
+                target.scalar(scalar.getKey(), scalar.getValue(), inlineComment);
+            }
+        }
+    }
+
+    /**
+     * An event writer that can copy in text it wrote before.
+     */
+    interface Target extends ConfigEventHandler {
+        /**
+         * Writes out anything held back and returns how many characters have been written.
+         */
+        int position();
+
+        void splice(final @NotNull String text, final int start, final int end);
+
+        @NotNull
+        String text();
+    }
+
+    /**
+     * Where a section's text sits relative to the start of its parent's, and which parent that was.
+     * The parent is held weakly, as it holds the section, which would otherwise never leave the weak map.
+     */
+    private record Range(int start, int end, int depth, @NotNull WeakReference<SectionNode> parent) {}
+}
@@ -0,0 +1,87 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.InscriptException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Writes events as YAML, exactly as {@link YAMLFormat#save} writes a tree.
+ */
+final class YAMLEventWriter implements RenderCache.Target {
+    private final InscriptStringWriter writer;
+
+    private int depth;
+
+    YAMLEventWriter(final @NotNull InscriptStringWriter writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void comment(final @NotNull String text) {
+        writer.indent(depth).write("# ").write(text).newline();
+    }
+
+    @Override
+    public void startSection(final @NotNull String key, final @Nullable String inlineComment) {
+        writer.indent(depth++).write(key).write(':');
+        writeInlineComment(inlineComment);
+        writer.newline();
+    }
+
+    @Override
+    public void endSection() {
+        if (depth == 0) throw new InscriptException("Attempted to end the root section");
+        depth--;
+    }
+
+    @Override
+    public void scalar(final @NotNull String key, final @NotNull Object value, final @Nullable String inlineComment) {
+        writer.indent(depth).write(key).write(": ").writeValue(value);
+        writeInlineComment(inlineComment);
+        writer.newline();
+    }
+
+    @Override
+    public void list(final @NotNull String key, final @NotNull List<?> values, final @Nullable String inlineComment) {
+        final String indent = writer.getIndent(depth);
+        writer.write(indent).write(key).write(':');
+
+        if (values.isEmpty()) {
+            writer.write(" []");
+            writeInlineComment(inlineComment);
+            writer.newline();
+            return;
+        }
+
+        writeInlineComment(inlineComment);
+        writer.newline();
+
+        final String elementIndent = writer.getIndent(1);
+
+        for (int i = 0; i < values.size(); i++) {
+            writer.write(indent).write(elementIndent).write("- ").writeElement(values, i).newline();
+        }
+    }
+
+    @Override
+    public int position() {
+        return writer.length();
+    }
+
+    @Override
+    public void splice(final @NotNull String text, final int start, final int end) {
+        writer.write(text, start, end);
+    }
+
+    @NotNull
+    @Override
+    public String text() {
+        return writer.build();
+    }
+
+    private void writeInlineComment(final @Nullable String comment) {
+        if (comment != null) writer.write(" # ").write(comment);
+    }
+}
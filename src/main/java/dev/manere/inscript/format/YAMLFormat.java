@@ -1,15 +1,14 @@
 package dev.manere.inscript.format;
 
 import dev.manere.inscript.*;
-import dev.manere.inscript.node.ConfigNode;
 import dev.manere.inscript.node.ScalarNode;
 import dev.manere.inscript.node.SectionNode;
-import dev.manere.inscript.value.InlineValue;
-import dev.manere.inscript.value.ValueRegistry;
-import org.jetbrains.annotations.ApiStatus;
+import dev.manere.inscript.value.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public class YAMLFormat implements FileFormat {
@@ -17,28 +16,24 @@ public class YAMLFormat implements FileFormat {
     @Override
     @Unmodifiable
     public List<ErrorContext> load(final @NotNull InscriptReader reader, final @NotNull Inscript inscript) {
-        final Set<String> tempComments = new LinkedHashSet<>();
-        final List<ErrorContext> errors = new ArrayList<>();
-        final Set<Integer> processedLines = new LinkedHashSet<>();
-
-        for (int linePosition = 0; linePosition < reader.getLines().size(); linePosition++) {
-            if (processedLines.contains(linePosition)) continue;
-            final String line = reader.read(linePosition);
-            if (line.isBlank()) {
-                processedLines.add(linePosition);
-                continue;
-            }
+        return new YAMLParser(inscript).parse(reader.getLines().iterator(), inscript.getRoot().getSection());
+    }
 
-            try {
-                final Optional<ErrorContext> result = parseNode(new Line(linePosition, line), reader, inscript, new ParseNodeContext(0, tempComments, inscript.getRoot().getSection()), processedLines);
-                result.ifPresent(errors::add);
-            } catch (final Exception e) {
-                ErrorContext.create(new Line(linePosition, line), inscript, "<" + e.getClass().getSimpleName() + "> " + e.getMessage()).handle();
-                e.printStackTrace(System.err);
-            }
-        }
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> load(final @NotNull Reader reader, final @NotNull Inscript inscript) {
+        return new YAMLParser(inscript).parse(reader, inscript.getRoot().getSection());
+    }
 
-        return errors;
+    /**
+     * Streams the document to {@code handler} without building a tree. Lazy and parallel loading do not apply here.
+     */
+    @NotNull
+    @Override
+    @Unmodifiable
+    public List<ErrorContext> parse(final @NotNull Reader reader, final @NotNull Inscript inscript, final @NotNull ConfigEventHandler handler) {
+        return new YAMLParser(inscript).parse(reader, handler);
     }
 
     @NotNull
@@ -82,21 +77,7 @@ public class YAMLFormat implements FileFormat {
                 String value = parts[1].trim();
 
                 if (value.isBlank() && isNextLineIndented(reader, line.getPosition() + 1, actualIndent.length())) {
-                    final SectionNode section = new SectionNode() {
-                        private final Set<ConfigNode> nodes = new LinkedHashSet<>();
-
-                        @NotNull
-                        @Override
-                        public Set<ConfigNode> getChildren() {
-                            return nodes;
-                        }
-
-                        @NotNull
-                        @Override
-                        public String getKey() {
-                            return key;
-                        }
-                    };
+                    final SectionNode section = SectionNode.section(key);
 
                     section.getComments().addAll(context.getComments());
                     if (inlineComment != null) section.getInlineComments().add(inlineComment);
@@ -161,20 +142,8 @@ public class YAMLFormat implements FileFormat {
 
                             if (element.equalsIgnoreCase("Null")) continue;
 
-                            InlineValue<?> inlineMatched = ValueRegistry.REGISTRY.getInline(String.class).orElseThrow();
-
-                            for (final InlineValue<?> inline : ValueRegistry.REGISTRY.getInlineRegistry().values()) {
-                                if (inline.equals(ValueRegistry.REGISTRY.getInline(String.class).orElseThrow())) continue;
-
-                                if (inline.matches(element)) {
-                                    inlineMatched = inline;
-                                    break;
-                                }
-                            }
-
-                            if (inlineMatched.matches(element)) {
-                                list.add(inlineMatched.deserialize(element));
-                            }
+                            final Object deserialized = inscript.getValueRegistry().recognize(element);
+                            if (deserialized != null) list.add(deserialized);
                         }
                     }
 
@@ -186,7 +155,7 @@ public class YAMLFormat implements FileFormat {
 
                         @Override
                         public @NotNull Object getValue() {
-                            return List.copyOf(list);
+                            return PrimitiveList.copyOf(list);
                         }
                     };
 
@@ -200,18 +169,7 @@ public class YAMLFormat implements FileFormat {
 
                 if (value.equalsIgnoreCase("Null")) return Optional.empty();
 
-                InlineValue<?> inlineMatched = ValueRegistry.REGISTRY.getInline(String.class).orElseThrow();
-
-                for (final InlineValue<?> inline : ValueRegistry.REGISTRY.getInlineRegistry().values()) {
-                    if (inline.equals(ValueRegistry.REGISTRY.getInline(String.class).orElseThrow())) continue;
-
-                    if (inline.matches(value)) {
-                        inlineMatched = inline;
-                        break;
-                    }
-                }
-
-                final Object o = inlineMatched.deserialize(value);
+                final Object o = inscript.getValueRegistry().recognize(value);
 
                 if (o == null) return Optional.empty();
 
@@ -245,19 +203,8 @@ public class YAMLFormat implements FileFormat {
                 if (!listItemLine.startsWith("-")) break;
 
                 final String value = listItemLine.substring(1).trim();
-                InlineValue<?> inlineMatched = ValueRegistry.REGISTRY.getInline(String.class).orElseThrow();
-
-                for (final InlineValue<?> inline : ValueRegistry.REGISTRY.getInlineRegistry().values()) {
-                    if (inline.equals(ValueRegistry.REGISTRY.getInline(String.class).orElseThrow())) continue;
-                    if (inline.matches(value)) {
-                        inlineMatched = inline;
-                        break;
-                    }
-                }
-
-                if (inlineMatched.matches(value)) {
-                    list.add(inlineMatched.deserialize(value));
-                }
+                final Object deserialized = inscript.getValueRegistry().recognize(value);
+                if (deserialized != null) list.add(deserialized);
 
                 processedLines.add(position);
             }
@@ -270,7 +217,7 @@ public class YAMLFormat implements FileFormat {
 
                 @Override
                 public @NotNull Object getValue() {
-                    return List.copyOf(list);
+                    return PrimitiveList.copyOf(list);
                 }
             };
 
@@ -288,97 +235,46 @@ public class YAMLFormat implements FileFormat {
     @NotNull
     @Override
     public String save(final @NotNull ConfigSection root) {
-        final InscriptStringWriter writer = InscriptStringWriter.newWriter();
-
-        for (final ConfigNode node : root.getChildren()) {
-            writeNode(writer, node, 0);
-        }
+        final InscriptStringWriter writer = InscriptStringWriter.newWriter(new StringBuilder(), root.getValueRegistry());
+        writeNodes(writer, root);
 
         return writer.build();
     }
 
-    @ApiStatus.Internal
-    private void writeNode(final @NotNull InscriptStringWriter writer, final @NotNull ConfigNode node, final int depth) {
-        if (depth < 0) throw new InscriptException();
-
-        final String indent = InscriptConstants.INDENT.getValue().apply(depth);
-
-        final String key = node.getKey();
-
-        if (node instanceof SectionNode section) {
-            for (final String comment : section.getComments()) {
-                writer.write(indent + "# " + comment);
-                writer.newLine();
-            }
-
-            if (section.getChildren().isEmpty()) {
-                writer.write(indent + key + ":");
-                if (!section.getInlineComments().isEmpty()) {
-                    writer.write(" # " + String.join(" ", section.getInlineComments()));
-                }
-                writer.write("\n");
-                return;
-            }
-
-            writer.write(indent + key + ":");
-            if (!section.getInlineComments().isEmpty()) {
-                writer.write(" # " + String.join(" ", section.getInlineComments()));
-            }
-            writer.write("\n");
-
-            for (final ConfigNode child : section.getChildren()) {
-                writeNode(writer, child, depth + 1);
-            }
-        } else if (node instanceof ScalarNode<?> scalar) {
-            for (final String comment : scalar.getComments()) {
-                writer.write(indent + "# " + comment);
-                writer.newLine();
-            }
-
-            final Object objectValue = scalar.getValue();
-            final Class<?> type = objectValue.getClass();
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull Writer writer) throws IOException {
+        try {
+            writeNodes(InscriptStringWriter.newWriter(writer, root.getValueRegistry()), root);
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
-            if (objectValue instanceof List<?> list) {
-                if (list.isEmpty()) {
-                    writer.write(indent + key + ": []");
-                    if (!scalar.getInlineComments().isEmpty()) {
-                        writer.write(" # " + String.join(" ", scalar.getInlineComments()));
-                    }
-                    writer.newline();
-                } else {
-                    writer.write(indent + key + ":");
-                    if (!scalar.getInlineComments().isEmpty()) {
-                        writer.write(" # " + String.join(" ", scalar.getInlineComments()));
-                    }
-                    writer.newLine();
+    @Override
+    public void save(final @NotNull ConfigSection root, final @NotNull OutputStream stream, final @NotNull RenderCache cache) throws IOException {
+        final String text = cache.render(root.getSection(), new YAMLEventWriter(InscriptStringWriter.newWriter(new StringBuilder(cache.size() + 1024), root.getValueRegistry())));
 
-                    for (final Object element : list) {
-                        final InlineValue<Object> value = ValueRegistry.REGISTRY.getInline(element.getClass()).orElse(null);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        writer.write(text);
+        writer.flush();
+    }
 
-                        if (value == null) {
-                            writer.write(indent + InscriptConstants.INDENT.getValue().apply(1) + "- " + element);
-                        } else {
-                            writer.write(indent + InscriptConstants.INDENT.getValue().apply(1) + "- " + value.serialize(element));
-                        }
+    private void writeNodes(final @NotNull InscriptStringWriter writer, final @NotNull ConfigSection root) {
+        ConfigEventHandler.emit(root.getSection(), new YAMLEventWriter(writer));
+    }
 
-                        writer.newLine();
-                    }
-                }
-            } else {
-                final InlineValue<Object> value = ValueRegistry.REGISTRY.getInline(type).orElse(null);
+    /**
+     * Writes events to {@code writer} as YAML, in the same layout {@link #save(ConfigSection, Writer)} uses.
+     * I/O failures surface as {@link UncheckedIOException}.
+     */
+    @NotNull
+    public ConfigEventHandler eventWriter(final @NotNull Writer writer) {
+        return eventWriter(writer, ValueRegistry.REGISTRY);
+    }
 
-                if (value == null) {
-                    writer.write(indent + key + ": " + objectValue);
-                } else {
-                    writer.write(indent + key + ": " + value.serialize(objectValue));
-                }
-                
-                if (!scalar.getInlineComments().isEmpty()) {
-                    writer.write(" # " + String.join(" ", scalar.getInlineComments()));
-                }
-                writer.write("\n");
-            }
-        }
+    @NotNull
+    public ConfigEventHandler eventWriter(final @NotNull Writer writer, final @NotNull ValueRegistry registry) {
+        return new YAMLEventWriter(InscriptStringWriter.newWriter(writer, registry));
     }
 
     private boolean isNextLineIndented(final @NotNull InscriptReader reader, int nextLinePosition, int currentIndentLength) {
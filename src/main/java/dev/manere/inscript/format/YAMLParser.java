@@ -0,0 +1,268 @@
+package dev.manere.inscript.format;
+
+import dev.manere.inscript.ErrorContext;
+import dev.manere.inscript.Inscript;
+import dev.manere.inscript.InscriptConstants;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.PrimitiveList;
+import dev.manere.inscript.value.ValueRegistry;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+final class YAMLParser {
+    private final Inscript inscript;
+    private final ValueRegistry registry;
+    private final List<ErrorContext> errors = new ArrayList<>();
+    private final List<String> comments = new ArrayList<>();
+    private final List<String> indents = new ArrayList<>();
+
+    private ConfigEventHandler handler;
+    private int[] widths = new int[16];
+    private int depth;
+
+    private String pendingKey;
+    private int pendingWidth;
+    private List<String> pendingComments;
+    private String pendingInlineComment;
+
+    private List<Object> list;
+
+    private int position;
+    private String text;
+    private int start;
+    private int end;
+    private String inlineComment;
+
+    YAMLParser(final @NotNull Inscript inscript) {
+        this.inscript = inscript;
+        this.registry = inscript.getValueRegistry();
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull Reader reader, final @NotNull SectionNode root) {
+        final BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        return parse(buffered.lines().iterator(), new ConfigTreeBuilder(root));
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull Reader reader, final @NotNull ConfigEventHandler handler) {
+        final BufferedReader buffered = reader instanceof BufferedReader b ? b : new BufferedReader(reader);
+        return parse(buffered.lines().iterator(), handler);
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull Iterator<String> lines, final @NotNull SectionNode root) {
+        return parse(lines, new ConfigTreeBuilder(root));
+    }
+
+    @NotNull
+    List<ErrorContext> parse(final @NotNull Iterator<String> lines, final @NotNull ConfigEventHandler handler) {
+        this.handler = handler;
+        widths[0] = -1;
+        depth = 0;
+        position = -1;
+
+        while (lines.hasNext()) {
+            text = lines.next();
+            position++;
+
+            try {
+                accept();
+            } catch (final Exception e) {
+                // Like a skipped node, the one that failed takes its comments with it.
+                clearPending();
+                comments.clear();
+                error("<" + e.getClass().getSimpleName() + "> " + e.getMessage());
+            }
+        }
+
+        if (list != null) {
+            attachPendingList();
+        } else if (pendingKey != null) {
+            attachPendingSection();
+            handler.endSection();
+        }
+
+        for (; depth > 0; depth--) handler.endSection();
+
+        return errors;
+    }
+
+    private void accept() {
+        final String text = this.text;
+        if (text.isBlank()) return;
+
+        start = 0;
+        end = text.length();
+        inlineComment = null;
+
+        while (start < end && text.charAt(start) <= ' ') start++;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+
+        final int width = start;
+        final boolean comment = start < end && text.charAt(start) == '#';
+        final boolean item = start < end && text.charAt(start) == '-' && !isDocumentMarker();
+
+        if (list != null) {
+            if (item && width >= pendingWidth) {
+                stripInlineComment();
+                item();
+                return;
+            }
+
+            attachPendingList();
+        } else if (pendingKey != null) {
+            if (item && width >= pendingWidth) {
+                list = new ArrayList<>();
+                stripInlineComment();
+                item();
+                return;
+            }
+
+            final int sectionWidth = pendingWidth;
+            attachPendingSection();
+
+            if (width > sectionWidth) {
+                push(sectionWidth);
+            } else {
+                handler.endSection();
+            }
+        }
+
+        while (width <= widths[depth]) {
+            depth--;
+            handler.endSection();
+        }
+
+        final String indent = indent(depth);
+        if (!text.startsWith(indent)) {
+            final String actualIndent = text.substring(0, text.length() - text.trim().length());
+            error("Invalid indentation, expected '" + indent + "' but found '" + actualIndent + "'");
+            return;
+        }
+
+        if (comment) {
+            comments.add(text.substring(start + 1, end).trim());
+            return;
+        }
+
+        stripInlineComment();
+        if (start == end || isDocumentMarker()) return;
+
+        final int colon = text.indexOf(':', start);
+
+        if (colon == -1 || colon >= end) {
+            error("Invalid YAML syntax");
+            return;
+        }
+
+        final String key = text.substring(start, colon).trim();
+        final String value = text.substring(colon + 1, end).trim();
+
+        if (value.isEmpty()) {
+            pendingKey = key;
+            pendingWidth = width;
+            pendingComments = List.copyOf(comments);
+            pendingInlineComment = inlineComment;
+            comments.clear();
+            return;
+        }
+
+        if (value.equals("[]")) {
+            flushComments();
+            handler.list(key, List.of(), inlineComment);
+            return;
+        }
+
+        if (value.startsWith("[") && value.endsWith("]")) {
+            final String content = value.substring(1, value.length() - 1).trim();
+            final List<Object> elements = new ArrayList<>();
+
+            if (!content.isEmpty()) {
+                for (String element : content.split(",")) {
+                    element = element.trim();
+                    if (element.equalsIgnoreCase("Null")) continue;
+
+                    final Object deserialized = registry.recognize(element);
+                    if (deserialized != null) elements.add(deserialized);
+                }
+            }
+
+            flushComments();
+            handler.list(key, PrimitiveList.copyOf(elements), inlineComment);
+            return;
+        }
+
+        if (value.equalsIgnoreCase("Null")) return;
+
+        final Object deserialized = registry.recognize(value);
+        if (deserialized == null) return;
+
+        flushComments();
+        handler.scalar(key, deserialized, inlineComment);
+    }
+
+    private void item() {
+        final Object deserialized = registry.recognize(text.substring(start + 1, end).trim());
+        if (deserialized != null) list.add(deserialized);
+    }
+
+    private void stripInlineComment() {
+        final int index = text.indexOf(" #", start);
+        if (index == -1 || index + 2 > end) return;
+
+        inlineComment = text.substring(index + 2, end).trim();
+
+        end = index;
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+    }
+
+    private boolean isDocumentMarker() {
+        return end - start == 3 && (text.startsWith("---", start) || text.startsWith("...", start));
+    }
+
+    private void flushComments() {
+        for (final String comment : comments) handler.comment(comment);
+        comments.clear();
+    }
+
+    private void attachPendingSection() {
+        for (final String comment : pendingComments) handler.comment(comment);
+        handler.startSection(pendingKey, pendingInlineComment);
+        clearPending();
+    }
+
+    private void attachPendingList() {
+        for (final String comment : pendingComments) handler.comment(comment);
+        handler.list(pendingKey, PrimitiveList.copyOf(list), pendingInlineComment);
+        clearPending();
+    }
+
+    private void clearPending() {
+        pendingKey = null;
+        pendingComments = null;
+        pendingInlineComment = null;
+        list = null;
+    }
+
+    private void push(final int width) {
+        if (++depth == widths.length) widths = Arrays.copyOf(widths, depth * 2);
+        widths[depth] = width;
+    }
+
+    @NotNull
+    private String indent(final int depth) {
+        while (indents.size() <= depth) indents.add(InscriptConstants.INDENT.getValue().apply(indents.size()));
+        return indents.get(depth);
+    }
+
+    private void error(final @NotNull String error) {
+        errors.add(ErrorContext.create(new Line(position, text), inscript, error));
+    }
+}
@@ -0,0 +1,42 @@
+package dev.manere.inscript.node;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scalar holding a unboxed {@code boolean}. Its value never changes; replace the node to change it.
+ */
+public final class BooleanScalarNode extends ScalarNode<Boolean> {
+    private final String key;
+    private final boolean value;
+
+    public BooleanScalarNode(final @NotNull String key, final boolean value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public Boolean getValue() {
+        return value;
+    }
+
+    public boolean getBoolean() {
+        return value;
+    }
+
+    @Override
+    public boolean getBoolean(final boolean defaultValue) {
+        return value;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return true;
+    }
+}
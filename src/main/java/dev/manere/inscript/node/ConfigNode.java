@@ -1,13 +1,22 @@
 package dev.manere.inscript.node;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
 public abstract class ConfigNode {
-    private final Set<String> comments = new LinkedHashSet<>();
-    private final Set<String> inlineComments = new LinkedHashSet<>();
+    private final Set<String> comments = new CommentSet();
+    private final Set<String> inlineComments = new CommentSet();
+
+    /**
+     * The section this node was last added to, while it is still a child there.
+     */
+    @Nullable
+    SectionNode parent;
 
     @NotNull
     public abstract String getKey();
@@ -27,4 +36,80 @@ public abstract class ConfigNode {
     public Set<String> getInlineComments() {
         return inlineComments;
     }
+
+    /**
+     * Marks the section holding this node as {@linkplain SectionNode#isDirty() dirty}, or the section itself if this is one.
+     */
+    void changed() {
+        if (this instanceof SectionNode section) {
+            section.markDirty();
+        } else if (parent != null) {
+            parent.markDirty();
+        }
+    }
+
+    /**
+     * Wraps a {@link LinkedHashSet} instead of extending it, which would make the set serializable.
+     */
+    private final class CommentSet extends AbstractSet<String> {
+        private final Set<String> comments = new LinkedHashSet<>();
+
+        @Override
+        public boolean add(final @NotNull String comment) {
+            if (!comments.add(comment)) return false;
+
+            changed();
+            return true;
+        }
+
+        @Override
+        public boolean remove(final @Nullable Object comment) {
+            if (!comments.remove(comment)) return false;
+
+            changed();
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            if (comments.isEmpty()) return;
+
+            comments.clear();
+            changed();
+        }
+
+        @Override
+        public boolean contains(final @Nullable Object comment) {
+            return comments.contains(comment);
+        }
+
+        @Override
+        public int size() {
+            return comments.size();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<String> iterator = comments.iterator();
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    changed();
+                }
+            };
+        }
+    }
 }
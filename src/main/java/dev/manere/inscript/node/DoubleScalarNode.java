@@ -0,0 +1,42 @@
+package dev.manere.inscript.node;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scalar holding a unboxed {@code double}. Its value never changes; replace the node to change it.
+ */
+public final class DoubleScalarNode extends ScalarNode<Double> {
+    private final String key;
+    private final double value;
+
+    public DoubleScalarNode(final @NotNull String key, final double value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public Double getValue() {
+        return value;
+    }
+
+    public double getDouble() {
+        return value;
+    }
+
+    @Override
+    public double getDouble(final double defaultValue) {
+        return value;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return true;
+    }
+}
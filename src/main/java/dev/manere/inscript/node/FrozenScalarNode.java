@@ -0,0 +1,111 @@
+package dev.manere.inscript.node;
+
+import dev.manere.inscript.value.PrimitiveList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * An immutable copy of a {@link ScalarNode}. List values are copied into unmodifiable lists, except {@link PrimitiveList}s,
+ * which are immutable already, and {@code byte[]} values are copied; do not modify the array {@link #getValue()} returns.
+ * Copies of {@linkplain ScalarNode#isPrimitive() primitive} nodes read the unboxed value from the node itself.
+ * <p>
+ * Any other value is shared with the live tree, so values of registered custom types must be immutable.
+ */
+public final class FrozenScalarNode<V> extends ScalarNode<V> {
+    private final ScalarNode<V> source;
+    private final String key;
+    private final @Nullable V value;
+    private final Set<String> comments;
+    private final Set<String> inlineComments;
+
+    private FrozenScalarNode(final @NotNull ScalarNode<V> source, final @Nullable V value) {
+        this.source = source;
+        this.key = source.getKey();
+        this.value = value;
+        this.comments = FrozenSectionNode.freezeComments(source.getComments());
+        this.inlineComments = FrozenSectionNode.freezeComments(source.getInlineComments());
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <V> FrozenScalarNode<V> freeze(final @NotNull ScalarNode<V> node, final @Nullable FrozenScalarNode<?> previous) {
+        if (node instanceof FrozenScalarNode<V> frozen) return frozen;
+
+        final boolean same = previous != null && previous.source == node && previous.sameComments(node);
+
+        if (node.isPrimitive()) return same ? (FrozenScalarNode<V>) previous : new FrozenScalarNode<>(node, null);
+
+        final V value = node.getValue();
+
+        // The node is the same, but a mutable list or array it was given may have been edited in place since.
+        final boolean mutableList = value instanceof List<?> && !(value instanceof PrimitiveList<?>);
+
+        if (value instanceof byte[] bytes) {
+            if (same && previous.value instanceof byte[] frozen && Arrays.equals(bytes, frozen)) return (FrozenScalarNode<V>) previous;
+            return new FrozenScalarNode<>(node, (V) bytes.clone());
+        }
+
+        if (same && (!mutableList || value.equals(previous.value))) return (FrozenScalarNode<V>) previous;
+
+        final V frozenValue = mutableList ? (V) Collections.unmodifiableList(new ArrayList<>((List<?>) value)) : value;
+        return new FrozenScalarNode<>(node, frozenValue);
+    }
+
+    private boolean sameComments(final @NotNull ConfigNode node) {
+        return comments.equals(node.getComments()) && inlineComments.equals(node.getInlineComments());
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public V getValue() {
+        return value == null ? source.getValue() : value;
+    }
+
+    @Override
+    public int getInt(final int defaultValue) {
+        return value == null ? source.getInt(defaultValue) : super.getInt(defaultValue);
+    }
+
+    @Override
+    public long getLong(final long defaultValue) {
+        return value == null ? source.getLong(defaultValue) : super.getLong(defaultValue);
+    }
+
+    @Override
+    public double getDouble(final double defaultValue) {
+        return value == null ? source.getDouble(defaultValue) : super.getDouble(defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(final boolean defaultValue) {
+        return value == null ? source.getBoolean(defaultValue) : super.getBoolean(defaultValue);
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return value == null;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getComments() {
+        return comments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getInlineComments() {
+        return inlineComments;
+    }
+}
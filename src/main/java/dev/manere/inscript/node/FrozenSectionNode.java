@@ -0,0 +1,146 @@
+package dev.manere.inscript.node;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * An immutable copy of a {@link SectionNode}. Any attempt to modify it throws {@link UnsupportedOperationException}.
+ */
+public final class FrozenSectionNode extends SectionNode {
+    private final SectionNode source;
+    private final int sourceModCount;
+    private final String key;
+    private final boolean root;
+    private volatile Map<String, ConfigNode> children;
+    private final Set<String> comments;
+    private final Set<String> inlineComments;
+
+    private FrozenSectionNode(final @NotNull SectionNode source, final @NotNull Map<String, ConfigNode> children) {
+        this.source = source;
+        this.sourceModCount = source.getModCount();
+        this.key = source.getKey();
+        this.root = source.isRoot();
+        this.children = Collections.unmodifiableMap(children);
+        this.comments = freezeComments(source.getComments());
+        this.inlineComments = freezeComments(source.getInlineComments());
+    }
+
+    private FrozenSectionNode(final @NotNull LazySectionNode source) {
+        this.source = source;
+        this.sourceModCount = source.getModCount();
+        this.key = source.getKey();
+        this.root = source.isRoot();
+        this.comments = freezeComments(source.getComments());
+        this.inlineComments = freezeComments(source.getInlineComments());
+    }
+
+    /**
+     * Freezes {@code node}, reusing every part of {@code previous} (an earlier freeze of the same tree)
+     * that has not changed since, so consecutive versions share their unchanged subtrees.
+     */
+    @NotNull
+    public static FrozenSectionNode freeze(final @NotNull SectionNode node, final @Nullable FrozenSectionNode previous) {
+        return freeze(node, previous, false);
+    }
+
+    /**
+     * Like {@link #freeze(SectionNode, FrozenSectionNode)}, but reuses the image of every {@linkplain SectionNode#isDirty() clean}
+     * section without comparing it, so only the dirty paths are walked. Only valid if {@code previous} was frozen
+     * after the sections were last {@linkplain SectionNode#markClean() marked clean}.
+     */
+    @NotNull
+    public static FrozenSectionNode freezeDirty(final @NotNull SectionNode node, final @Nullable FrozenSectionNode previous) {
+        return freeze(node, previous, true);
+    }
+
+    @NotNull
+    private static FrozenSectionNode freeze(final @NotNull SectionNode node, final @Nullable FrozenSectionNode previous, final boolean trustClean) {
+        if (node instanceof FrozenSectionNode frozen) return frozen;
+        if (trustClean && previous != null && previous.source == node && !node.isDirty()) return previous;
+
+        boolean changed = previous == null || previous.source != node || previous.sourceModCount != node.getModCount() || !previous.sameComments(node);
+
+        // Freezing must not force a lazy section to load, so its image parses a copy of its own when first read.
+        if (node instanceof LazySectionNode lazy && !lazy.isLoaded()) return changed ? new FrozenSectionNode(lazy) : previous;
+
+        final Map<String, ConfigNode> previousChildren = previous == null ? null : previous.children;
+        if (previousChildren == null) changed = true;
+
+        final ConfigNode[] images = new ConfigNode[node.getChildren().size()];
+        int index = 0;
+
+        for (final ConfigNode child : node.getChildren()) {
+            final ConfigNode previousChild = previousChildren == null ? null : previousChildren.get(child.getKey());
+            final ConfigNode image = freezeNode(child, previousChild, trustClean);
+
+            if (image != previousChild) changed = true;
+            images[index++] = image;
+        }
+
+        if (!changed) return previous;
+
+        final Map<String, ConfigNode> children = new LinkedHashMap<>(images.length * 4 / 3 + 1);
+        for (final ConfigNode image : images) children.put(image.getKey(), image);
+
+        return new FrozenSectionNode(node, children);
+    }
+
+    @NotNull
+    private static ConfigNode freezeNode(final @NotNull ConfigNode node, final @Nullable ConfigNode previous, final boolean trustClean) {
+        if (node instanceof SectionNode section) return freeze(section, previous instanceof FrozenSectionNode frozen ? frozen : null, trustClean);
+        if (node instanceof ScalarNode<?> scalar) return FrozenScalarNode.freeze(scalar, previous instanceof FrozenScalarNode<?> frozen ? frozen : null);
+
+        return node;
+    }
+
+    @NotNull
+    @Unmodifiable
+    static Set<String> freezeComments(final @NotNull Set<String> comments) {
+        return comments.isEmpty() ? Set.of() : Collections.unmodifiableSet(new LinkedHashSet<>(comments));
+    }
+
+    boolean sameComments(final @NotNull ConfigNode node) {
+        return comments.equals(node.getComments()) && inlineComments.equals(node.getInlineComments());
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public boolean isRoot() {
+        return root;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getComments() {
+        return comments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    public Set<String> getInlineComments() {
+        return inlineComments;
+    }
+
+    @NotNull
+    @Override
+    @Unmodifiable
+    protected Map<String, ConfigNode> children() {
+        Map<String, ConfigNode> children = this.children;
+        if (children != null) return children;
+
+        synchronized (this) {
+            if (this.children == null) this.children = ((LazySectionNode) source).loadFrozen();
+            return this.children;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.manere.inscript.node;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scalar holding an unboxed {@code int}. Its value never changes; replace the node to change it.
+ */
+public final class IntScalarNode extends ScalarNode<Integer> {
+    private final String key;
+    private final int value;
+
+    public IntScalarNode(final @NotNull String key, final int value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public Integer getValue() {
+        return value;
+    }
+
+    public int getInt() {
+        return value;
+    }
+
+    @Override
+    public int getInt(final int defaultValue) {
+        return value;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return true;
+    }
+}
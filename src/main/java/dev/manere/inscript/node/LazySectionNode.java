@@ -0,0 +1,98 @@
+package dev.manere.inscript.node;
+
+import dev.manere.inscript.ErrorContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A section whose children are parsed the first time they are accessed. Errors found while parsing them are
+ * {@link ErrorContext#handle() handled} once, on that first access, and kept for {@link #load()}.
+ * <p>
+ * Snapshots taken before the section is loaded parse their own copy of it when they are first read, so the live
+ * section is never loaded from a thread only reading a snapshot. Loading itself happens once, whichever thread gets there first.
+ */
+public final class LazySectionNode extends SectionNode {
+    private final String key;
+    private final Loader loader;
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    private volatile boolean loaded;
+    private boolean loading;
+    private List<ErrorContext> errors = List.of();
+
+    public LazySectionNode(final @NotNull String key, final @NotNull Loader loader) {
+        this.key = key;
+        this.loader = loader;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Parses the children if that has not happened yet.
+     *
+     * @return the errors found while parsing them, whenever that happened
+     */
+    @NotNull
+    @Unmodifiable
+    public List<ErrorContext> load() {
+        if (loaded) return errors;
+
+        synchronized (this) {
+            // Children added while parsing come back here through children(), which must see the section as it is being built.
+            if (loaded || loading) return errors;
+            loading = true;
+
+            // Parsing adds children, which must not make the tree look edited. Being dirty meanwhile keeps it from spreading up.
+            final boolean wasDirty = dirty;
+            dirty = true;
+            errors = List.copyOf(loader.load(this));
+            loaded = true;
+            if (!wasDirty) markClean();
+
+            report(errors);
+
+            return errors;
+        }
+    }
+
+    @NotNull
+    @Override
+    protected Map<String, ConfigNode> children() {
+        if (!loaded) load();
+        return super.children();
+    }
+
+    @NotNull
+    @Unmodifiable
+    Map<String, ConfigNode> loadFrozen() {
+        final SectionNode copy = SectionNode.section(key);
+        report(loader.load(copy));
+
+        return FrozenSectionNode.freeze(copy, null).children();
+    }
+
+    private void report(final @NotNull List<ErrorContext> errors) {
+        if (!errors.isEmpty() && reported.compareAndSet(false, true)) errors.forEach(ErrorContext::handle);
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * Parses the deferred children into {@code target}. May be called more than once, each time with a fresh target.
+         */
+        @NotNull
+        List<ErrorContext> load(final @NotNull SectionNode target);
+    }
+}
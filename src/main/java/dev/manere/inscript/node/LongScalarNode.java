@@ -0,0 +1,42 @@
+package dev.manere.inscript.node;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scalar holding a unboxed {@code long}. Its value never changes; replace the node to change it.
+ */
+public final class LongScalarNode extends ScalarNode<Long> {
+    private final String key;
+    private final long value;
+
+    public LongScalarNode(final @NotNull String key, final long value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    @NotNull
+    @Override
+    public String getKey() {
+        return key;
+    }
+
+    @NotNull
+    @Override
+    public Long getValue() {
+        return value;
+    }
+
+    public long getLong() {
+        return value;
+    }
+
+    @Override
+    public long getLong(final long defaultValue) {
+        return value;
+    }
+
+    @Override
+    public boolean isPrimitive() {
+        return true;
+    }
+}
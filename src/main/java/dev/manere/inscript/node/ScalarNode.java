@@ -5,8 +5,17 @@ import org.jetbrains.annotations.NotNull;
 import java.util.Optional;
 
 public abstract class ScalarNode<V> extends ConfigNode {
+    /**
+     * Integers, longs, doubles and booleans get a primitive node that stores them unboxed.
+     */
     @NotNull
+    @SuppressWarnings("unchecked")
     public static <V> ScalarNode<V> scalar(final @NotNull String key, final @NotNull V value) {
+        if (value instanceof Integer number) return (ScalarNode<V>) new IntScalarNode(key, number);
+        if (value instanceof Long number) return (ScalarNode<V>) new LongScalarNode(key, number);
+        if (value instanceof Double number) return (ScalarNode<V>) new DoubleScalarNode(key, number);
+        if (value instanceof Boolean bool) return (ScalarNode<V>) new BooleanScalarNode(key, bool);
+
         return new ScalarNode<>() {
             @Override
             public @NotNull V getValue() {
@@ -32,6 +41,32 @@ public abstract class ScalarNode<V> extends ConfigNode {
         }
     }
 
+    /**
+     * The value if it is an {@link Integer}, otherwise {@code defaultValue}. Primitive nodes answer without boxing.
+     */
+    public int getInt(final int defaultValue) {
+        return getValue() instanceof Integer value ? value : defaultValue;
+    }
+
+    public long getLong(final long defaultValue) {
+        return getValue() instanceof Long value ? value : defaultValue;
+    }
+
+    public double getDouble(final double defaultValue) {
+        return getValue() instanceof Double value ? value : defaultValue;
+    }
+
+    public boolean getBoolean(final boolean defaultValue) {
+        return getValue() instanceof Boolean value ? value : defaultValue;
+    }
+
+    /**
+     * Whether this is one of the primitive nodes, whose values are stored unboxed and never change.
+     */
+    public boolean isPrimitive() {
+        return false;
+    }
+
     @NotNull
     @Override
     public String toString() {
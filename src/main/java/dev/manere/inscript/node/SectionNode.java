@@ -1,19 +1,20 @@
 package dev.manere.inscript.node;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
 
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
 
 public abstract class SectionNode extends ConfigNode {
+    private final Map<String, ConfigNode> children = new LinkedHashMap<>();
+    private final Set<ConfigNode> view = new ChildrenView();
+    private int modCount;
+    boolean dirty;
+
     @NotNull
     public static SectionNode section(final @NotNull String key) {
         return new SectionNode() {
-            @Override
-            public @NotNull Set<ConfigNode> getChildren() {
-                return new LinkedHashSet<>();
-            }
-
             @Override
             public @NotNull String getKey() {
                 return key;
@@ -21,8 +22,102 @@ public abstract class SectionNode extends ConfigNode {
         };
     }
 
+    /**
+     * Live view of the children, keyed by {@link ConfigNode#getKey()}.
+     * Adding a node replaces any child with the same key in place.
+     */
+    @NotNull
+    public Set<ConfigNode> getChildren() {
+        return view;
+    }
+
+    @Nullable
+    public ConfigNode getChild(final @NotNull String key) {
+        return children().get(key);
+    }
+
+    public boolean hasChild(final @NotNull String key) {
+        return children().containsKey(key);
+    }
+
+    @Nullable
+    public ConfigNode putChild(final @NotNull ConfigNode node) {
+        final ConfigNode previous = children().put(node.getKey(), node);
+        if (previous != node) detach(previous);
+
+        node.parent = this;
+        modified();
+        return previous;
+    }
+
+    @Nullable
+    public ConfigNode removeChild(final @NotNull String key) {
+        final ConfigNode removed = children().remove(key);
+
+        if (removed != null) {
+            detach(removed);
+            modified();
+        }
+
+        return removed;
+    }
+
+    @NotNull
+    @UnmodifiableView
+    public Map<String, ConfigNode> getChildMap() {
+        return Collections.unmodifiableMap(children());
+    }
+
+    /**
+     * Incremented whenever a child is added, replaced or removed. Nested changes do not affect the parent's count.
+     */
+    public int getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Whether anything in this section or below it changed since it was last {@linkplain #markClean() marked clean}:
+     * a child added, replaced or removed, or comments of this section or its children edited. Sections always start clean.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks this section and every section it is nested in as dirty.
+     */
+    public void markDirty() {
+        // A dirty section's parents are always dirty too, so the walk stops at the first one.
+        for (SectionNode section = this; section != null && !section.dirty; section = section.parent) section.dirty = true;
+    }
+
+    /**
+     * Marks this section and everything below it as clean, visiting only the sections that are dirty.
+     */
+    public void markClean() {
+        if (!dirty) return;
+        dirty = false;
+
+        if (this instanceof LazySectionNode lazy && !lazy.isLoaded()) return;
+
+        for (final ConfigNode child : children().values()) {
+            if (child instanceof SectionNode section) section.markClean();
+        }
+    }
+
+    private void modified() {
+        modCount++;
+        markDirty();
+    }
+
+    private void detach(final @Nullable ConfigNode node) {
+        if (node != null && node.parent == this) node.parent = null;
+    }
+
     @NotNull
-    public abstract Set<ConfigNode> getChildren();
+    protected Map<String, ConfigNode> children() {
+        return children;
+    }
 
     public boolean isRoot() {
         return this instanceof RootSectionNode;
@@ -33,4 +128,70 @@ public abstract class SectionNode extends ConfigNode {
     public String toString() {
         return "<" + getKey() + ": " + getChildren() + ">";
     }
+
+    private final class ChildrenView extends AbstractSet<ConfigNode> {
+        @NotNull
+        @Override
+        public Iterator<ConfigNode> iterator() {
+            final Iterator<ConfigNode> iterator = children().values().iterator();
+
+            return new Iterator<>() {
+                private ConfigNode last;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public ConfigNode next() {
+                    return last = iterator.next();
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    detach(last);
+                    modified();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return children().size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return children().isEmpty();
+        }
+
+        @Override
+        public boolean contains(final @Nullable Object o) {
+            return o instanceof ConfigNode node && children().get(node.getKey()) == node;
+        }
+
+        @Override
+        public boolean add(final @NotNull ConfigNode node) {
+            return putChild(node) != node;
+        }
+
+        @Override
+        public boolean remove(final @Nullable Object o) {
+            if (!(o instanceof ConfigNode node) || !children().remove(node.getKey(), node)) return false;
+
+            detach(node);
+            modified();
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            for (final ConfigNode node : children().values()) detach(node);
+
+            children().clear();
+            modified();
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package dev.manere.inscript.value;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value a component of a {@link GenerateValue} type takes when its key is missing, written as Java would write the
+ * literal without quotes or suffixes. Only primitives, their boxes and {@link String}s can have defaults.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.RECORD_COMPONENT, ElementType.FIELD})
+public @interface Default {
+    String value();
+}
@@ -0,0 +1,54 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable list backed by a {@code double[]}.
+ */
+public final class DoubleList extends PrimitiveList<Double> {
+    private final double[] values;
+
+    DoubleList(final double @NotNull [] values) {
+        this.values = values;
+    }
+
+    @NotNull
+    public static DoubleList of(final double @NotNull ... values) {
+        return new DoubleList(values.clone());
+    }
+
+    public double getDouble(final int index) {
+        return values[index];
+    }
+
+    @NotNull
+    @Override
+    public Double get(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * A copy of the elements.
+     */
+    public double @NotNull [] toDoubleArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof DoubleList list) return Arrays.equals(values, list.values);
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.manere.inscript.value;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates an {@link InscriptValue} for a record or class at compile time, with the {@code inscript-processor}
+ * annotation processor. The generated {@code <Name>InscriptValue} reads and writes each component or field under its
+ * own name and is registered in {@link ValueRegistry#REGISTRY} through a {@link java.util.ServiceLoader}.
+ * <p>
+ * Records are built through their canonical constructor. Classes need a no-argument constructor, and their non-static,
+ * non-transient fields are accessed directly unless private, in which case they need a getter and a setter.
+ * A value whose required component is missing deserializes to {@code null}; components with a {@link Default},
+ * lists, primitive arrays and components annotated {@code @Nullable} are optional.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateValue {}
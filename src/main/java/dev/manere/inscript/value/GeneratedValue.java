@@ -0,0 +1,11 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A value generated for a {@link GenerateValue} type, found through {@link java.util.ServiceLoader}.
+ */
+public interface GeneratedValue<T> extends InscriptValue<T> {
+    @NotNull
+    Class<T> type();
+}
@@ -15,11 +15,47 @@ public interface InlineValue<T> {
     @Nullable
     String serialize(final @NotNull T t);
 
+    /**
+     * Matches and deserializes in one step, returning {@code null} when {@code text} is not a value of this type.
+     */
+    @Nullable
+    default T recognize(final @NotNull String text) {
+        return matches(text) ? deserialize(text) : null;
+    }
+
+    /**
+     * Optional hint: every text this value matches starts with this prefix.
+     * Hinted values are only probed for texts that fit the hint.
+     */
+    @Nullable
+    default String prefix() {
+        return null;
+    }
+
+    /**
+     * Optional hint: every text this value matches ends with this suffix.
+     */
+    @Nullable
+    default String suffix() {
+        return null;
+    }
+
     @NotNull
     static <T> InlineValue<T> create(
         final @NotNull Function<@NotNull String, @NotNull Boolean> matches,
         final @NotNull Function<@NotNull String, @Nullable T> deserialize,
         final @NotNull Function<@NotNull T, @Nullable String> serialize
+    ) {
+        return create(matches, deserialize, serialize, null, null);
+    }
+
+    @NotNull
+    static <T> InlineValue<T> create(
+        final @NotNull Function<@NotNull String, @NotNull Boolean> matches,
+        final @NotNull Function<@NotNull String, @Nullable T> deserialize,
+        final @NotNull Function<@NotNull T, @Nullable String> serialize,
+        final @Nullable String prefix,
+        final @Nullable String suffix
     ) {
         return new InlineValue<>() {
             @Override
@@ -36,6 +72,16 @@ public interface InlineValue<T> {
             public @Nullable String serialize(@NotNull T t) {
                 return serialize.apply(t);
             }
+
+            @Override
+            public @Nullable String prefix() {
+                return prefix;
+            }
+
+            @Override
+            public @Nullable String suffix() {
+                return suffix;
+            }
         };
     }
 
@@ -53,6 +99,8 @@ public interface InlineValue<T> {
         private Function<@NotNull String, @NotNull Boolean> matches;
         private Function<@NotNull String, @Nullable T> deserialize;
         private Function<@NotNull T, @Nullable String> serialize;
+        private String prefix;
+        private String suffix;
 
         public Function<@NotNull String, @NotNull Boolean> matches() {
             return matches;
@@ -89,9 +137,33 @@ public interface InlineValue<T> {
             return this;
         }
 
+        @Nullable
+        public String prefix() {
+            return prefix;
+        }
+
+        @NotNull
+        @CanIgnoreReturnValue
+        public Builder<T> prefix(final @Nullable String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        @Nullable
+        public String suffix() {
+            return suffix;
+        }
+
+        @NotNull
+        @CanIgnoreReturnValue
+        public Builder<T> suffix(final @Nullable String suffix) {
+            this.suffix = suffix;
+            return this;
+        }
+
         @NotNull
         public InlineValue<T> build() {
-            return create(matches, deserialize, serialize);
+            return create(matches, deserialize, serialize, prefix, suffix);
         }
     }
 }
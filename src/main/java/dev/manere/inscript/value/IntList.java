@@ -0,0 +1,54 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable list backed by a {@code int[]}.
+ */
+public final class IntList extends PrimitiveList<Integer> {
+    private final int[] values;
+
+    IntList(final int @NotNull [] values) {
+        this.values = values;
+    }
+
+    @NotNull
+    public static IntList of(final int @NotNull ... values) {
+        return new IntList(values.clone());
+    }
+
+    public int getInt(final int index) {
+        return values[index];
+    }
+
+    @NotNull
+    @Override
+    public Integer get(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * A copy of the elements.
+     */
+    public int @NotNull [] toIntArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof IntList list) return Arrays.equals(values, list.values);
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+}
@@ -0,0 +1,54 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable list backed by a {@code long[]}.
+ */
+public final class LongList extends PrimitiveList<Long> {
+    private final long[] values;
+
+    LongList(final long @NotNull [] values) {
+        this.values = values;
+    }
+
+    @NotNull
+    public static LongList of(final long @NotNull ... values) {
+        return new LongList(values.clone());
+    }
+
+    public long getLong(final int index) {
+        return values[index];
+    }
+
+    @NotNull
+    @Override
+    public Long get(final int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * A copy of the elements.
+     */
+    public long @NotNull [] toLongArray() {
+        return values.clone();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (other instanceof LongList list) return Arrays.equals(values, list.values);
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * An immutable list of numbers stored in a primitive array. The parsers store lists whose elements are all
+ * {@link Integer}s, {@link Long}s or {@link Double}s this way; elements are only boxed when read through the {@link List} methods.
+ */
+public abstract sealed class PrimitiveList<E extends Number> extends AbstractList<E> implements RandomAccess permits IntList, LongList, DoubleList {
+    PrimitiveList() {}
+
+    /**
+     * An {@link IntList}, {@link LongList} or {@link DoubleList} if {@code values} is not empty and holds only elements
+     * of that type, otherwise an unmodifiable copy of {@code values}.
+     */
+    @NotNull
+    @Unmodifiable
+    public static List<?> copyOf(final @NotNull Collection<?> values) {
+        if (values.isEmpty()) return List.of();
+        if (values instanceof PrimitiveList<?> list) return list;
+
+        final Class<?> type = values.iterator().next().getClass();
+        if (type != Integer.class && type != Long.class && type != Double.class) return List.copyOf(values);
+
+        for (final Object value : values) {
+            if (value.getClass() != type) return List.copyOf(values);
+        }
+
+        int index = 0;
+
+        if (type == Integer.class) {
+            final int[] ints = new int[values.size()];
+            for (final Object value : values) ints[index++] = (Integer) value;
+            return new IntList(ints);
+        }
+
+        if (type == Long.class) {
+            final long[] longs = new long[values.size()];
+            for (final Object value : values) longs[index++] = (Long) value;
+            return new LongList(longs);
+        }
+
+        final double[] doubles = new double[values.size()];
+        for (final Object value : values) doubles[index++] = (Double) value;
+        return new DoubleList(doubles);
+    }
+}
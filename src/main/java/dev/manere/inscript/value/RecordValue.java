@@ -0,0 +1,147 @@
+package dev.manere.inscript.value;
+
+import dev.manere.inscript.ConfigSection;
+import dev.manere.inscript.InscriptException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.RecordComponent;
+import java.util.List;
+
+/**
+ * Binds any record to a section at runtime, for records that cannot be annotated with {@link GenerateValue}.
+ * Components are read and written the way a generated value would, without defaults; the accessors and canonical
+ * constructor are looked up once per record class and called through {@link MethodHandle}s afterwards.
+ * <p>
+ * {@link dev.manere.inscript.ConfigSection#get(String, Class)} and {@code set} fall back to this for records that have
+ * no value registered.
+ */
+public final class RecordValue<T extends Record> implements InscriptValue<T> {
+    private static final ClassValue<RecordValue<?>> VALUES = new ClassValue<>() {
+        @Override
+        protected RecordValue<?> computeValue(final @NotNull Class<?> type) {
+            return new RecordValue<>(type.asSubclass(Record.class));
+        }
+    };
+
+    private final Component[] components;
+    private final MethodHandle constructor;
+
+    private RecordValue(final @NotNull Class<T> type) {
+        final RecordComponent[] recordComponents = type.getRecordComponents();
+        if (recordComponents == null) throw new InscriptException(type.getName() + " is not a record");
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            final Class<?>[] parameters = new Class<?>[recordComponents.length];
+
+            this.components = new Component[recordComponents.length];
+
+            for (int i = 0; i < recordComponents.length; i++) {
+                final RecordComponent component = recordComponents[i];
+                parameters[i] = component.getType();
+
+                final MethodHandle accessor = lookup.unreflect(component.getAccessor()).asType(MethodType.methodType(Object.class, Object.class));
+                final Class<?> boxed = MethodType.methodType(component.getType()).wrap().returnType();
+
+                components[i] = new Component(component.getName(), kind(component.getType()), boxed, accessor, isNullable(component));
+            }
+
+            final MethodHandle canonical = lookup.findConstructor(type, MethodType.methodType(void.class, parameters));
+            this.constructor = canonical.asType(canonical.type().generic()).asSpreader(Object[].class, parameters.length);
+        } catch (final ReflectiveOperationException | SecurityException e) {
+            throw new InscriptException("Cannot bind record " + type.getName() + ": " + e);
+        }
+    }
+
+    /**
+     * The value for {@code type}, created on first use and shared afterwards.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T extends Record> RecordValue<T> of(final @NotNull Class<T> type) {
+        return (RecordValue<T>) VALUES.get(type);
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T deserialize(final @NotNull ConfigSection section) {
+        final Object[] arguments = new Object[components.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+            final Component component = components[i];
+
+            final Object argument = switch (component.kind) {
+                case VALUE -> section.get(component.key, component.type).orElse(null);
+                case INT_ARRAY -> section.getIntArray(component.key);
+                case LONG_ARRAY -> section.getLongArray(component.key);
+                case DOUBLE_ARRAY -> section.getDoubleArray(component.key);
+                case LIST -> section.getList(component.key, Object.class);
+            };
+
+            if (argument == null && !component.nullable) return null;
+            arguments[i] = argument;
+        }
+
+        try {
+            return (T) (Object) constructor.invokeExact(arguments);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new InscriptException(e);
+        }
+    }
+
+    @Override
+    public void serialize(final @NotNull T t, final @NotNull ConfigSection section) {
+        try {
+            for (final Component component : components) section.set(component.key, (Object) component.accessor.invokeExact((Object) t));
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new InscriptException(e);
+        }
+    }
+
+    @NotNull
+    private static Kind kind(final @NotNull Class<?> type) {
+        if (type == int[].class) return Kind.INT_ARRAY;
+        if (type == long[].class) return Kind.LONG_ARRAY;
+        if (type == double[].class) return Kind.DOUBLE_ARRAY;
+        if (type == List.class) return Kind.LIST;
+
+        return Kind.VALUE;
+    }
+
+    /**
+     * Only annotations kept at runtime are visible here, so JetBrains' {@code @Nullable} is not; JSpecify's is.
+     */
+    private static boolean isNullable(final @NotNull RecordComponent component) {
+        if (component.getType().isPrimitive()) return false;
+        return hasNullable(component) || hasNullable(component.getAnnotatedType());
+    }
+
+    private static boolean hasNullable(final @NotNull AnnotatedElement element) {
+        for (final Annotation annotation : element.getAnnotations()) {
+            if (annotation.annotationType().getSimpleName().equals("Nullable")) return true;
+        }
+
+        return false;
+    }
+
+    private enum Kind {
+        VALUE,
+        INT_ARRAY,
+        LONG_ARRAY,
+        DOUBLE_ARRAY,
+        LIST
+    }
+
+    private record Component(@NotNull String key, @NotNull Kind kind, @NotNull Class<?> type, @NotNull MethodHandle accessor, boolean nullable) {}
+}
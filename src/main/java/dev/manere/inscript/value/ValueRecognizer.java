@@ -0,0 +1,109 @@
+package dev.manere.inscript.value;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies inline tokens against a snapshot of a {@link ValueRegistry}.
+ * Values with a {@link InlineValue#prefix()} or {@link InlineValue#suffix()} hint are bucketed by the first or last
+ * character of that hint, so a token only probes the values that can possibly match it, in registration order.
+ */
+final class ValueRecognizer {
+    private static final Candidate[] NONE = new Candidate[0];
+    private static final int BUCKETS = 128;
+
+    private final Candidate[] unhinted;
+    private final Candidate[][] byFirst = new Candidate[BUCKETS][];
+    private final Candidate[][] byLast = new Candidate[BUCKETS][];
+    private final InlineValue<?> fallback;
+
+    ValueRecognizer(final @NotNull Map<Class<?>, InlineValue<?>> registry, final @Nullable InlineValue<?> fallback) {
+        this.fallback = fallback;
+
+        final List<Candidate> unhinted = new ArrayList<>();
+        final List<List<Candidate>> byFirst = new ArrayList<>(Collections.nCopies(BUCKETS, null));
+        final List<List<Candidate>> byLast = new ArrayList<>(Collections.nCopies(BUCKETS, null));
+
+        int index = 0;
+        for (final InlineValue<?> value : registry.values()) {
+            if (value == fallback) continue;
+
+            final Candidate candidate = new Candidate(index++, value, emptyToNull(value.prefix()), emptyToNull(value.suffix()));
+
+            if (candidate.prefix != null && candidate.prefix.charAt(0) < BUCKETS) {
+                add(byFirst, candidate.prefix.charAt(0), candidate);
+            } else if (candidate.suffix != null && candidate.suffix.charAt(candidate.suffix.length() - 1) < BUCKETS) {
+                add(byLast, candidate.suffix.charAt(candidate.suffix.length() - 1), candidate);
+            } else {
+                unhinted.add(candidate);
+            }
+        }
+
+        this.unhinted = unhinted.toArray(NONE);
+
+        for (int i = 0; i < BUCKETS; i++) {
+            this.byFirst[i] = byFirst.get(i) == null ? NONE : byFirst.get(i).toArray(NONE);
+            this.byLast[i] = byLast.get(i) == null ? NONE : byLast.get(i).toArray(NONE);
+        }
+    }
+
+    @Nullable
+    Object recognize(final @NotNull String text) {
+        if (!text.isEmpty()) {
+            final char first = text.charAt(0);
+            final char last = text.charAt(text.length() - 1);
+
+            final Candidate[] a = first < BUCKETS ? byFirst[first] : NONE;
+            final Candidate[] b = last < BUCKETS ? byLast[last] : NONE;
+            final Candidate[] c = unhinted;
+
+            int i = 0, j = 0, k = 0;
+            while (i < a.length || j < b.length || k < c.length) {
+                final Candidate next;
+
+                final int ai = i < a.length ? a[i].index : Integer.MAX_VALUE;
+                final int bi = j < b.length ? b[j].index : Integer.MAX_VALUE;
+                final int ci = k < c.length ? c[k].index : Integer.MAX_VALUE;
+
+                if (ai < bi && ai < ci) next = a[i++];
+                else if (bi < ci) next = b[j++];
+                else next = c[k++];
+
+                final Object value = next.recognize(text);
+                if (value != null) return value;
+            }
+        } else {
+            for (final Candidate candidate : unhinted) {
+                final Object value = candidate.recognize(text);
+                if (value != null) return value;
+            }
+        }
+
+        return fallback == null ? text : fallback.recognize(text);
+    }
+
+    @Nullable
+    private static String emptyToNull(final @Nullable String hint) {
+        return hint == null || hint.isEmpty() ? null : hint;
+    }
+
+    private static void add(final @NotNull List<List<Candidate>> buckets, final char key, final @NotNull Candidate candidate) {
+        if (buckets.get(key) == null) buckets.set(key, new ArrayList<>());
+        buckets.get(key).add(candidate);
+    }
+
+    private record Candidate(int index, @NotNull InlineValue<?> value, @Nullable String prefix, @Nullable String suffix) {
+        @Nullable
+        Object recognize(final @NotNull String text) {
+            if (prefix != null && !text.startsWith(prefix)) return null;
+            if (suffix != null && !text.endsWith(suffix)) return null;
+
+            return value.recognize(text);
+        }
+    }
+}
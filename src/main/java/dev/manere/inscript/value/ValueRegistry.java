@@ -1,20 +1,35 @@
 package dev.manere.inscript.value;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import dev.manere.inscript.InscriptException;
 import dev.manere.inscript.value.impl.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 
+/**
+ * Inline and section values by class. Registries are layered: a registry falls back to its parent for classes it has no
+ * value for, and every registry ends in {@link #BUILTIN}. Give an Inscript its own registry with
+ * {@link dev.manere.inscript.Inscript.Builder#registry(ValueRegistry)} to keep its custom types apart from everyone else's.
+ * <p>
+ * Registries are thread-safe. Registering publishes new maps rather than changing them, so lookups and parses never lock.
+ */
 public class ValueRegistry {
+    /**
+     * The values Inscript ships with. It is frozen, registering throws.
+     */
+    public static final ValueRegistry BUILTIN;
+
+    /**
+     * The global registry, used by every Inscript that was not given its own.
+     */
     public static final ValueRegistry REGISTRY;
 
     static {
-        REGISTRY = new ValueRegistry()
+        final ValueRegistry builtin = new ValueRegistry(null)
             .register(Boolean.class, new BooleanValue())
             .register(Byte.class, new ByteValue())
             .register(Short.class, new ShortValue())
@@ -26,53 +41,275 @@ public class ValueRegistry {
             .register(Character.class, new CharacterValue())
             .register(byte[].class, new ByteArrayValue());
 
-        REGISTRY.register(String.class, new StringValue());
+        builtin.register(String.class, new StringValue());
+        builtin.frozen = true;
+
+        BUILTIN = builtin;
+        REGISTRY = new ValueRegistry(BUILTIN);
+        REGISTRY.registerGenerated(ValueRegistry.class.getClassLoader());
     }
 
-    private ValueRegistry() {}
+    private final @Nullable ValueRegistry parent;
+    private final Object lock = new Object();
+    private volatile boolean frozen;
 
-    private final Map<Class<?>, InlineValue<?>> inlineRegistry = new LinkedHashMap<>();
-    private final Map<Class<?>, InscriptValue<?>> inscriptRegistry = new LinkedHashMap<>();
+    // Copy-on-write: registering publishes new maps, so readers never see one mid-update and views never need copying.
+    private volatile Map<Class<?>, InlineValue<?>> inlineRegistry = Map.of();
+    private volatile Map<Class<?>, InscriptValue<?>> inscriptRegistry = Map.of();
+    private volatile Resolutions resolutions;
 
+    private ValueRegistry(final @Nullable ValueRegistry parent) {
+        this.parent = parent;
+        this.resolutions = new Resolutions(parent == null ? null : parent.resolutions());
+    }
+
+    /**
+     * A new registry over the {@link #REGISTRY global} one. Values registered in it are only visible through it.
+     */
+    @NotNull
+    public static ValueRegistry newRegistry() {
+        return new ValueRegistry(REGISTRY);
+    }
+
+    /**
+     * A new registry over {@code parent}; use {@link #BUILTIN} to leave out everything registered globally.
+     */
+    @NotNull
+    public static ValueRegistry newRegistry(final @NotNull ValueRegistry parent) {
+        return new ValueRegistry(parent);
+    }
+
+    @NotNull
+    public Optional<ValueRegistry> getParent() {
+        return Optional.ofNullable(parent);
+    }
+
+    /**
+     * The inline value registered for {@code key} here or in a parent, or else for its closest superclass, or else for the
+     * first of its interfaces found breadth-first, looking here before the parents. Resolved once per class until the next
+     * registration here or in a parent.
+     */
     @NotNull
     @SuppressWarnings("unchecked")
     public <T> Optional<InlineValue<T>> getInline(final @NotNull Class<?> key) {
-        final InlineValue<?> raw = inlineRegistry.get(key);
-        if (raw == null) return Optional.empty();
-        return Optional.of((InlineValue<T>) raw);
+        return (Optional<InlineValue<T>>) (Optional<?>) resolutions().get(key).inline();
     }
 
+    /**
+     * The section value for {@code key}, resolved through the class hierarchy and parents like {@link #getInline(Class)}.
+     */
     @NotNull
     @SuppressWarnings("unchecked")
     public <T> Optional<InscriptValue<T>> getInscript(final @NotNull Class<?> key) {
-        final InscriptValue<?> raw = inscriptRegistry.get(key);
-        if (raw == null) return Optional.empty();
-        return Optional.of((InscriptValue<T>) raw);
+        return (Optional<InscriptValue<T>>) (Optional<?>) resolutions().get(key).inscript();
+    }
+
+    /**
+     * Classifies an inline token the same way a registration-ordered {@link InlineValue#matches(String)} probe would,
+     * falling back to the {@link String} value, but only probing values whose prefix/suffix hints fit the token.
+     * Values of parents come first, in their registration order.
+     */
+    @Nullable
+    public Object recognize(final @NotNull String text) {
+        return resolutions().recognizer().recognize(text);
     }
 
     @NotNull
     @CanIgnoreReturnValue
     public <T> ValueRegistry register(final @NotNull Class<? super T> key, final @NotNull InlineValue<? super T> value) {
-        inlineRegistry.put(key, value);
+        synchronized (lock) {
+            checkWritable();
+
+            final Map<Class<?>, InlineValue<?>> updated = new LinkedHashMap<>(inlineRegistry);
+            updated.put(key, value);
+
+            inlineRegistry = Collections.unmodifiableMap(updated);
+            resolutions = new Resolutions(parent == null ? null : parent.resolutions());
+        }
+
         return this;
     }
 
     @NotNull
     @CanIgnoreReturnValue
     public <T> ValueRegistry register(final @NotNull Class<? super T> key, final @NotNull InscriptValue<? super T> value) {
-        inscriptRegistry.put(key, value);
+        synchronized (lock) {
+            checkWritable();
+
+            final Map<Class<?>, InscriptValue<?>> updated = new LinkedHashMap<>(inscriptRegistry);
+            updated.put(key, value);
+
+            inscriptRegistry = Collections.unmodifiableMap(updated);
+            resolutions = new Resolutions(parent == null ? null : parent.resolutions());
+        }
+
         return this;
     }
 
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkWritable() {
+        if (frozen) throw new InscriptException("Attempted to register a value in a frozen registry");
+    }
+
+    /**
+     * The current generation of lookups, replaced when a parent registered something since it was made.
+     */
+    @NotNull
+    private Resolutions resolutions() {
+        Resolutions current = resolutions;
+        if (parent == null) return current;
+
+        final Resolutions inherited = parent.resolutions();
+        if (current.parent == inherited) return current;
+
+        synchronized (lock) {
+            current = resolutions;
+            if (current.parent != inherited) resolutions = current = new Resolutions(inherited);
+        }
+
+        return current;
+    }
+
+    /**
+     * Registers every {@link GeneratedValue} the {@link GenerateValue} processor wrote into {@code loader}'s classpath.
+     * Values on the classpath Inscript itself was loaded from are registered on startup; call this for other loaders,
+     * such as a plugin's.
+     */
+    @NotNull
+    @CanIgnoreReturnValue
+    public ValueRegistry registerGenerated(final @NotNull ClassLoader loader) {
+        for (final GeneratedValue<?> value : ServiceLoader.load(GeneratedValue.class, loader)) register(value);
+        return this;
+    }
+
+    private <T> void register(final @NotNull GeneratedValue<T> value) {
+        register(value.type(), value);
+    }
+
+    /**
+     * Every inline value this registry resolves, its parents' first, in registration order, as of this call.
+     */
     @NotNull
     @Unmodifiable
     public Map<Class<?>, InlineValue<?>> getInlineRegistry() {
-        return new LinkedHashMap<>(inlineRegistry);
+        return resolutions().inlineValues();
     }
 
     @NotNull
     @Unmodifiable
     public Map<Class<?>, InscriptValue<?>> getInscriptRegistry() {
-        return new LinkedHashMap<>(inscriptRegistry);
+        return resolutions().inscriptValues();
+    }
+
+    @Nullable
+    private static <V> V resolve(final @NotNull Map<Class<?>, V> registry, final @NotNull Class<?> type) {
+        if (registry.isEmpty()) return null;
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            final V value = registry.get(current);
+            if (value != null) return value;
+        }
+
+        final Deque<Class<?>> interfaces = new ArrayDeque<>();
+        final Set<Class<?>> seen = new HashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) interfaces.addAll(List.of(current.getInterfaces()));
+
+        while (!interfaces.isEmpty()) {
+            final Class<?> next = interfaces.poll();
+            if (!seen.add(next)) continue;
+
+            final V value = registry.get(next);
+            if (value != null) return value;
+
+            interfaces.addAll(List.of(next.getInterfaces()));
+        }
+
+        return null;
+    }
+
+    @NotNull
+    @Unmodifiable
+    private static <V> Map<Class<?>, V> merge(final @Nullable Map<Class<?>, V> inherited, final @NotNull Map<Class<?>, V> own) {
+        if (inherited == null || inherited.isEmpty()) return own;
+        if (own.isEmpty()) return inherited;
+
+        final Map<Class<?>, V> merged = new LinkedHashMap<>(inherited);
+        merged.putAll(own);
+        return Collections.unmodifiableMap(merged);
+    }
+
+    private record Resolution(@NotNull Optional<InlineValue<?>> inline, @NotNull Optional<InscriptValue<?>> inscript) {}
+
+    /**
+     * One generation of lookups over fixed snapshots of this registry and its parents. Registering swaps in a new one
+     * instead of clearing this, so everything derived from it stays consistent without locking.
+     */
+    private final class Resolutions extends ClassValue<Resolution> {
+        private final @Nullable Resolutions parent;
+        private final Map<Class<?>, InlineValue<?>> inline = inlineRegistry;
+        private final Map<Class<?>, InscriptValue<?>> inscript = inscriptRegistry;
+
+        private volatile Map<Class<?>, InlineValue<?>> inlineValues;
+        private volatile Map<Class<?>, InscriptValue<?>> inscriptValues;
+        private volatile ValueRecognizer recognizer;
+
+        private Resolutions(final @Nullable Resolutions parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        protected Resolution computeValue(final @NotNull Class<?> type) {
+            return new Resolution(Optional.ofNullable(resolve(type, resolutions -> resolutions.inline)), Optional.ofNullable(resolve(type, resolutions -> resolutions.inscript)));
+        }
+
+        /**
+         * An exact match anywhere in the chain wins, so a parent's built-in {@code Integer} beats a {@code Number} registered
+         * here; only then is the class hierarchy walked, here first and then in each parent.
+         */
+        @Nullable
+        private <V> V resolve(final @NotNull Class<?> type, final @NotNull Function<Resolutions, Map<Class<?>, V>> registry) {
+            for (Resolutions current = this; current != null; current = current.parent) {
+                final V value = registry.apply(current).get(type);
+                if (value != null) return value;
+            }
+
+            for (Resolutions current = this; current != null; current = current.parent) {
+                final V value = ValueRegistry.resolve(registry.apply(current), type);
+                if (value != null) return value;
+            }
+
+            return null;
+        }
+
+        @NotNull
+        private Map<Class<?>, InlineValue<?>> inlineValues() {
+            Map<Class<?>, InlineValue<?>> values = inlineValues;
+            if (values == null) inlineValues = values = merge(parent == null ? null : parent.inlineValues(), inline);
+
+            return values;
+        }
+
+        @NotNull
+        private Map<Class<?>, InscriptValue<?>> inscriptValues() {
+            Map<Class<?>, InscriptValue<?>> values = inscriptValues;
+            if (values == null) inscriptValues = values = merge(parent == null ? null : parent.inscriptValues(), inscript);
+
+            return values;
+        }
+
+        @NotNull
+        private ValueRecognizer recognizer() {
+            ValueRecognizer recognizer = this.recognizer;
+
+            if (recognizer == null) {
+                final Map<Class<?>, InlineValue<?>> values = inlineValues();
+                this.recognizer = recognizer = new ValueRecognizer(values, values.get(String.class));
+            }
+
+            return recognizer;
+        }
     }
 }
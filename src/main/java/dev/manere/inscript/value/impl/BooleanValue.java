@@ -7,13 +7,18 @@ import org.jetbrains.annotations.Nullable;
 public class BooleanValue implements InlineValue<Boolean> {
     @Override
     public boolean matches(final @NotNull String text) {
-        return text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false");
+        return recognize(text) != null;
     }
 
     @Override
     public @Nullable Boolean deserialize(final @NotNull String text) {
-        if (text.equalsIgnoreCase("true")) return true;
-        if (text.equalsIgnoreCase("false")) return false;
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Boolean recognize(final @NotNull String text) {
+        if (text.length() == 4 && text.equalsIgnoreCase("true")) return true;
+        if (text.length() == 5 && text.equalsIgnoreCase("false")) return false;
         return null;
     }
 
@@ -9,23 +9,49 @@ import java.util.Base64;
 public class ByteArrayValue implements InlineValue<byte[]> {
     @Override
     public boolean matches(final @NotNull String text) {
-        return text.startsWith("base64(") && text.endsWith(")");
+        if (!text.startsWith("base64(") || !text.endsWith(")")) return false;
+
+        final int start = 7;
+        int end = text.length() - 1;
+        if (end < start) return false;
+
+        int padding = 0;
+        while (end > start && text.charAt(end - 1) == '=' && padding < 2) {
+            end--;
+            padding++;
+        }
+
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '+' || c == '/')) return false;
+        }
+
+        final int length = end - start;
+        return padding == 0 ? length % 4 != 1 : (length + padding) % 4 == 0;
     }
 
     @Override
     public byte @Nullable [] deserialize(final @NotNull String text) {
-        if (!text.startsWith("base64(") && !text.endsWith(")")) return null;
-        final String content = text.substring(7, text.length() - 1);
+        return recognize(text);
+    }
 
-        try {
-            return Base64.getDecoder().decode(content);
-        } catch (final Exception e) {
-            return null;
-        }
+    @Override
+    public byte @Nullable [] recognize(final @NotNull String text) {
+        return matches(text) ? Base64.getDecoder().decode(text.substring(7, text.length() - 1)) : null;
     }
 
     @Override
     public @Nullable String serialize(final byte @NotNull [] bytes) {
         return "base64(" + Base64.getEncoder().encodeToString(bytes) + ")";
     }
-}
\ No newline at end of file
+
+    @Override
+    public @NotNull String prefix() {
+        return "base64(";
+    }
+
+    @Override
+    public @NotNull String suffix() {
+        return ")";
+    }
+}
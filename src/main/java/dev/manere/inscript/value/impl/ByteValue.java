@@ -7,24 +7,27 @@ import org.jetbrains.annotations.Nullable;
 public class ByteValue implements InlineValue<Byte> {
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.endsWith("B")) return false;
-
-        final String other = text.substring(0, text.length() - 1);
-        try {
-            Byte.valueOf(other);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && text.charAt(text.length() - 1) == 'B' && InlineNumbers.isInteger(text, text.length() - 1, InlineNumbers.BYTE_MAX, InlineNumbers.BYTE_MIN);
     }
 
     @Override
     public @Nullable Byte deserialize(final @NotNull String text) {
-        return Byte.valueOf(text.substring(0, text.length() - 1));
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Byte recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return (byte) Integer.parseInt(text, 0, text.length() - 1, 10);
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Byte aByte) {
         return aByte + "B";
     }
+
+    @Override
+    public @NotNull String suffix() {
+        return "B";
+    }
 }
@@ -12,11 +12,26 @@ public class CharacterValue implements InlineValue<Character> {
 
     @Override
     public @Nullable Character deserialize(final @NotNull String text) {
-        return text.substring(1, text.length() - 2).charAt(0);
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Character recognize(final @NotNull String text) {
+        return matches(text) ? text.charAt(1) : null;
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Character character) {
         return "'" + character + "'C";
     }
+
+    @Override
+    public @NotNull String prefix() {
+        return "'";
+    }
+
+    @Override
+    public @NotNull String suffix() {
+        return "'C";
+    }
 }
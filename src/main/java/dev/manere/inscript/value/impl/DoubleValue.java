@@ -7,28 +7,27 @@ import org.jetbrains.annotations.Nullable;
 public class DoubleValue implements InlineValue<Double> {
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.endsWith("D")) return false;
-
-        final String other = text.substring(0, text.length() - 1);
-        try {
-            Double.valueOf(other);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && text.charAt(text.length() - 1) == 'D' && InlineNumbers.isDecimal(text, text.length() - 1);
     }
 
     @Override
     public @Nullable Double deserialize(final @NotNull String text) {
-        try {
-            return Double.valueOf(text.substring(0, text.length() - 1));
-        } catch (NumberFormatException e) {
-            return -1.0;
-        }
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Double recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return Double.parseDouble(text.substring(0, text.length() - 1));
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Double aDouble) {
         return aDouble + "D";
     }
+
+    @Override
+    public @NotNull String suffix() {
+        return "D";
+    }
 }
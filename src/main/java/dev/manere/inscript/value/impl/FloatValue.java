@@ -7,28 +7,27 @@ import org.jetbrains.annotations.Nullable;
 public class FloatValue implements InlineValue<Float> {
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.endsWith("F")) return false;
-
-        final String other = text.substring(0, text.length() - 1);
-        try {
-            Float.valueOf(other);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && text.charAt(text.length() - 1) == 'F' && InlineNumbers.isDecimal(text, text.length() - 1);
     }
 
     @Override
     public @Nullable Float deserialize(final @NotNull String text) {
-        try {
-            return Float.valueOf(text.substring(0, text.length() - 1));
-        } catch (NumberFormatException e) {
-            return -1.0F;
-        }
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Float recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return Float.parseFloat(text.substring(0, text.length() - 1));
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Float aFloat) {
         return aFloat + "F";
     }
+
+    @Override
+    public @NotNull String suffix() {
+        return "F";
+    }
 }
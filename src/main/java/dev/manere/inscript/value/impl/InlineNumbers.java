@@ -0,0 +1,93 @@
+package dev.manere.inscript.value.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+final class InlineNumbers {
+    static final String BYTE_MAX = "127";
+    static final String BYTE_MIN = "128";
+    static final String SHORT_MAX = "32767";
+    static final String SHORT_MIN = "32768";
+    static final String INT_MAX = "2147483647";
+    static final String INT_MIN = "2147483648";
+    static final String LONG_MAX = "9223372036854775807";
+    static final String LONG_MIN = "9223372036854775808";
+
+    private InlineNumbers() {}
+
+    /**
+     * Checks that {@code text[0, end)} is a signed decimal integer whose magnitude fits {@code max}
+     * (or {@code min} when negative), so that parsing it afterwards cannot fail.
+     */
+    static boolean isInteger(final @NotNull String text, final int end, final @NotNull String max, final @NotNull String min) {
+        if (end <= 0) return false;
+
+        int start = 0;
+        final char sign = text.charAt(0);
+        if (sign == '-' || sign == '+') start++;
+        if (start == end) return false;
+
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+
+        while (start < end - 1 && text.charAt(start) == '0') start++;
+
+        final String limit = sign == '-' ? min : max;
+        final int digits = end - start;
+        if (digits != limit.length()) return digits < limit.length();
+
+        for (int i = 0; i < digits; i++) {
+            final int difference = text.charAt(start + i) - limit.charAt(i);
+            if (difference != 0) return difference < 0;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks that {@code text[0, end)} is a plain decimal number: an optional sign, digits with an optional
+     * fraction, an optional exponent, or {@code NaN}/{@code Infinity}.
+     */
+    static boolean isDecimal(final @NotNull String text, final int end) {
+        if (end <= 0) return false;
+
+        int i = 0;
+        final char sign = text.charAt(0);
+        if (sign == '-' || sign == '+') i++;
+        if (i == end) return false;
+
+        if (text.charAt(i) == 'N') return sign != '-' && sign != '+' && end - i == 3 && text.startsWith("NaN", i);
+        if (text.charAt(i) == 'I') return end - i == 8 && text.startsWith("Infinity", i);
+
+        final int integerStart = i;
+        while (i < end && isDigit(text.charAt(i))) i++;
+        int digits = i - integerStart;
+
+        if (i < end && text.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < end && isDigit(text.charAt(i))) i++;
+            digits += i - fractionStart;
+        }
+
+        if (digits == 0) return false;
+        if (i == end) return true;
+
+        final char exponent = text.charAt(i);
+        if (exponent != 'e' && exponent != 'E') return false;
+        if (++i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) i++;
+
+        final int exponentStart = i;
+        while (i < end && isDigit(text.charAt(i))) i++;
+
+        return i == end && i > exponentStart;
+    }
+
+    static boolean isHex(final char c) {
+        return isDigit(c) || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F';
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
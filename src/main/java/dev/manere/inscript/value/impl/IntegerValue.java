@@ -7,21 +7,18 @@ import org.jetbrains.annotations.Nullable;
 public class IntegerValue implements InlineValue<Integer> {
     @Override
     public boolean matches(final @NotNull String text) {
-        try {
-            Integer.valueOf(text);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && InlineNumbers.isInteger(text, text.length(), InlineNumbers.INT_MAX, InlineNumbers.INT_MIN);
     }
 
     @Override
     public @Nullable Integer deserialize(final @NotNull String text) {
-        try {
-            return Integer.valueOf(text);
-        } catch (NumberFormatException e) {
-            return -1;
-        }
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Integer recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return Integer.parseInt(text);
     }
 
     @Override
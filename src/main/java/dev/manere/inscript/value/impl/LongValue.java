@@ -7,28 +7,27 @@ import org.jetbrains.annotations.Nullable;
 public class LongValue implements InlineValue<Long> {
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.endsWith("L")) return false;
-
-        final String other = text.substring(0, text.length() - 1);
-        try {
-            Long.valueOf(other);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && text.charAt(text.length() - 1) == 'L' && InlineNumbers.isInteger(text, text.length() - 1, InlineNumbers.LONG_MAX, InlineNumbers.LONG_MIN);
     }
 
     @Override
     public @Nullable Long deserialize(final @NotNull String text) {
-        try {
-            return Long.valueOf(text.substring(0, text.length() - 1));
-        } catch (NumberFormatException e) {
-            return -1L;
-        }
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Long recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return Long.parseLong(text, 0, text.length() - 1, 10);
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Long aLong) {
         return aLong + "L";
     }
+
+    @Override
+    public @NotNull String suffix() {
+        return "L";
+    }
 }
@@ -7,24 +7,27 @@ import org.jetbrains.annotations.Nullable;
 public class ShortValue implements InlineValue<Short> {
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.endsWith("S")) return false;
-
-        final String other = text.substring(0, text.length() - 1);
-        try {
-            Short.valueOf(other);
-            return true;
-        } catch (final NumberFormatException e) {
-            return false;
-        }
+        return !text.isEmpty() && text.charAt(text.length() - 1) == 'S' && InlineNumbers.isInteger(text, text.length() - 1, InlineNumbers.SHORT_MAX, InlineNumbers.SHORT_MIN);
     }
 
     @Override
     public @Nullable Short deserialize(final @NotNull String text) {
-        return Short.valueOf(text.substring(0, text.length() - 1));
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable Short recognize(final @NotNull String text) {
+        if (!matches(text)) return null;
+        return (short) Integer.parseInt(text, 0, text.length() - 1, 10);
     }
 
     @Override
     public @Nullable String serialize(final @NotNull Short aShort) {
         return aShort + "S";
     }
+
+    @Override
+    public @NotNull String suffix() {
+        return "S";
+    }
 }
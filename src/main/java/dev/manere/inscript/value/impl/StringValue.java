@@ -12,8 +12,10 @@ public class StringValue implements InlineValue<String> {
 
     @Override
     public @Nullable String deserialize(final @NotNull String text) {
-        if (text.startsWith("'") && text.endsWith("'")) return text.substring(1, text.length() - 1);
-        if (text.startsWith("\"") && text.endsWith("\"")) return text.substring(1, text.length() - 1);
+        if (text.length() < 2) return text;
+
+        final char first = text.charAt(0);
+        if ((first == '\'' || first == '"') && text.charAt(text.length() - 1) == first) return text.substring(1, text.length() - 1);
 
         return text;
     }
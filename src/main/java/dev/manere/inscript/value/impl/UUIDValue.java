@@ -7,31 +7,54 @@ import org.jetbrains.annotations.Nullable;
 import java.util.UUID;
 
 public class UUIDValue implements InlineValue<UUID> {
+    private static final int[] MAX_GROUP_LENGTHS = {8, 4, 4, 4, 12};
+
     @Override
     public boolean matches(final @NotNull String text) {
-        if (!text.startsWith("uuid(") && !text.endsWith(")")) {
-            return false;
-        }
+        if (!text.startsWith("uuid(") || !text.endsWith(")")) return false;
+
+        final int end = text.length() - 1;
+        if (end - 5 > 36) return false;
+
+        int group = 0;
+        int groupLength = 0;
 
-        try {
-            UUID.fromString(text.substring(5, text.length() - 1));
-            return true;
-        } catch (final Exception e) {
-            return false;
+        for (int i = 5; i < end; i++) {
+            final char c = text.charAt(i);
+
+            if (c == '-') {
+                if (groupLength == 0 || ++group == MAX_GROUP_LENGTHS.length) return false;
+                groupLength = 0;
+            } else if (!InlineNumbers.isHex(c) || ++groupLength > MAX_GROUP_LENGTHS[group]) {
+                return false;
+            }
         }
+
+        return group == MAX_GROUP_LENGTHS.length - 1 && groupLength != 0;
     }
 
     @Override
     public @Nullable UUID deserialize(final @NotNull String text) {
-        try {
-            return UUID.fromString(text.substring(5, text.length() - 1));
-        } catch (final Exception e) {
-            return null;
-        }
+        return recognize(text);
+    }
+
+    @Override
+    public @Nullable UUID recognize(final @NotNull String text) {
+        return matches(text) ? UUID.fromString(text.substring(5, text.length() - 1)) : null;
     }
 
     @Override
     public @Nullable String serialize(final @NotNull UUID uuid) {
         return "uuid(" + uuid + ")";
     }
+
+    @Override
+    public @NotNull String prefix() {
+        return "uuid(";
+    }
+
+    @Override
+    public @NotNull String suffix() {
+        return ")";
+    }
 }
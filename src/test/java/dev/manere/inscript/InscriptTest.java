@@ -1,13 +1,1004 @@
 package dev.manere.inscript;
 
-import dev.manere.inscript.format.DataScriptFormat;
-import dev.manere.inscript.format.YAMLFormat;
+import dev.manere.inscript.format.*;
+import dev.manere.inscript.node.ConfigNode;
+import dev.manere.inscript.node.IntScalarNode;
+import dev.manere.inscript.node.LazySectionNode;
+import dev.manere.inscript.node.ScalarNode;
+import dev.manere.inscript.node.SectionNode;
+import dev.manere.inscript.value.Default;
+import dev.manere.inscript.value.DoubleList;
+import dev.manere.inscript.value.GenerateValue;
+import dev.manere.inscript.value.InlineValue;
+import dev.manere.inscript.value.IntList;
+import dev.manere.inscript.value.ValueRegistry;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class InscriptTest {
+    private static final List<String> DATASCRIPT_CORPUS = List.of(
+        "basic.ds",
+        "nested.ds",
+        "lists.ds",
+        "invalid-indent.ds",
+        "invalid-list.ds"
+    );
 
+    private static final List<String> YAML_CORPUS = List.of(
+        "nested.yml",
+        "invalid-indent.yml"
+    );
+
+    @Test
+    public void dataScriptParserMatchesLegacyParser() throws IOException {
+        for (final String name : DATASCRIPT_CORPUS) {
+            assertMatchesLegacy(FileFormats.DATASCRIPT, name, resource(name));
+        }
+
+        assertMatchesLegacy(FileFormats.DATASCRIPT, "generated-deep", generateDeep(64));
+        assertMatchesLegacy(FileFormats.DATASCRIPT, "generated-wide", generateWide(2_000));
+    }
+
+    @Test
+    public void yamlParserMatchesLegacyParser() throws IOException {
+        for (final String name : YAML_CORPUS) {
+            assertMatchesLegacy(FileFormats.YAML, name, resource(name));
+        }
+
+        final Inscript deep = Inscript.newInscript(FileFormats.DATASCRIPT);
+        deep.loadFromString(generateDeep(64));
+
+        final Inscript yaml = Inscript.newInscript(FileFormats.YAML);
+        yaml.getRoot().copy(deep.getRoot());
+
+        assertMatchesLegacy(FileFormats.YAML, "generated-deep", yaml.saveToString());
+    }
+
+    @Test
+    public void yamlParserReadsListsAndEmptySections() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.YAML);
+        inscript.loadFromString(resource("lists.yml"));
+
+        final ConfigSection root = inscript.getRoot();
+
+        assertEquals(List.of("alpha", "beta", "gamma"), root.getList("names", String.class));
+        assertEquals(Set.of("top level list"), root.getComments("names"));
+        assertEquals(List.of(1, 2), root.getList("root", Integer.class));
+        assertEquals(List.of(10L, 20L), root.getList("section.numbers", Long.class));
+        assertEquals(List.of(true, false), root.getList("section.inline", Boolean.class));
+        assertEquals(Optional.of((short) 5), root.get("section.after", Short.class));
+        assertTrue(root.isSection("section.empty"));
+        assertTrue(root.isSection("empty"));
+        assertEquals(Optional.of("x"), root.get("last", String.class));
+        assertEquals(List.of("names", "root", "section", "empty", "last"), List.copyOf(root.getKeys()));
+    }
+
+    @Test
+    public void yamlRoundTrip() throws IOException {
+        for (final String name : List.of("nested.yml", "lists.yml")) {
+            final Inscript first = Inscript.newInscript(FileFormats.YAML);
+            first.loadFromString(resource(name));
+
+            final String saved = first.saveToString();
+
+            final Inscript second = Inscript.newInscript(FileFormats.YAML);
+            second.loadFromString(saved);
+
+            assertEquals(describe(first.getRoot().getSection(), true), describe(second.getRoot().getSection(), true), name);
+            assertEquals(saved, second.saveToString(), name);
+        }
+    }
+
+    @Test
+    public void dataScriptParserKeepsLeadingComments() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("nested.ds"));
+
+        final ConfigSection root = inscript.getRoot();
+
+        assertEquals(Set.of("server settings"), root.getComments("server"));
+        assertEquals(Set.of("default port"), root.getInlineComments("server.port"));
+        assertEquals(Set.of("nested comment"), root.getComments("server.limits.worlds"));
+        assertEquals(Optional.of(20), root.get("server.limits.maxPlayers", Integer.class));
+        assertEquals(Optional.of("Welcome"), root.get("server.motd", String.class));
+    }
+
+    @Test
+    public void dataScriptRoundTrip() throws IOException {
+        for (final String name : List.of("basic.ds", "nested.ds", "lists.ds")) {
+            final Inscript first = Inscript.newInscript(FileFormats.DATASCRIPT);
+            first.loadFromString(resource(name));
+
+            final String saved = first.saveToString();
+
+            final Inscript second = Inscript.newInscript(FileFormats.DATASCRIPT);
+            second.loadFromString(saved);
+
+            assertEquals(describe(first.getRoot().getSection(), true), describe(second.getRoot().getSection(), true), name);
+            assertEquals(saved, second.saveToString(), name);
+        }
+    }
+
+    @Test
+    public void lazyDataScriptMatchesEagerParser() throws IOException {
+        final Map<String, String> documents = new LinkedHashMap<>();
+        for (final String name : DATASCRIPT_CORPUS) documents.put(name, resource(name));
+        documents.put("generated-deep", generateDeep(64));
+
+        for (final Map.Entry<String, String> document : documents.entrySet()) {
+            final Inscript eager = Inscript.newInscript(FileFormats.DATASCRIPT);
+            final List<ErrorContext> eagerErrors = eager.getFormat().load(new StringReader(document.getValue()), eager);
+
+            final Inscript lazy = Inscript.newInscript(DataScriptFormat.lazy());
+            final List<ErrorContext> lazyErrors = new ArrayList<>(lazy.getFormat().load(new StringReader(document.getValue()), lazy));
+            lazyErrors.addAll(lazy.validateAll());
+            lazyErrors.sort(Comparator.comparingInt(ErrorContext::getPosition));
+
+            assertEquals(describe(eagerErrors), describe(lazyErrors), document.getKey());
+            assertEquals(describe(eager.getRoot().getSection(), true), describe(lazy.getRoot().getSection(), true), document.getKey());
+        }
+
+        final Inscript inscript = Inscript.newInscript(DataScriptFormat.lazy());
+        inscript.loadFromString(resource("nested.ds"));
+
+        final LazySectionNode server = (LazySectionNode) inscript.getRoot().getSection().getChild("server");
+        final ConfigSection snapshot = inscript.getSnapshot();
+
+        assertFalse(server.isLoaded());
+        assertEquals(Optional.of(20), snapshot.get("server.limits.maxPlayers", Integer.class));
+        assertFalse(server.isLoaded());
+
+        assertEquals(Optional.of(20), inscript.getRoot().get("server.limits.maxPlayers", Integer.class));
+        assertTrue(server.isLoaded());
+    }
+
+    @Test
+    public void parallelDataScriptMatchesEagerParser() throws IOException {
+        final Map<String, String> documents = new LinkedHashMap<>();
+        for (final String name : DATASCRIPT_CORPUS) documents.put(name, resource(name));
+        documents.put("generated-deep", generateDeep(64));
+
+        final StringBuilder blocks = new StringBuilder();
+        for (int i = 0; i < 3_000; i++) blocks.append("top").append(i).append(" = ").append(i).append("\nblock").append(i).append(" {\n  ok = 1\nbad = 2\n  after = [\n    3\n  ]\n}\n");
+        documents.put("generated-blocks", blocks.toString());
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (final Map.Entry<String, String> document : documents.entrySet()) {
+                final Inscript eager = Inscript.newInscript(FileFormats.DATASCRIPT);
+                final List<ErrorContext> eagerErrors = eager.getFormat().load(new StringReader(document.getValue()), eager);
+
+                final Inscript parallel = Inscript.newInscript(DataScriptFormat.parallel(pool));
+                final List<ErrorContext> parallelErrors = parallel.getFormat().load(new StringReader(document.getValue()), parallel);
+
+                assertEquals(describe(eagerErrors), describe(parallelErrors), document.getKey());
+                assertEquals(describe(eager.getRoot().getSection(), true), describe(parallel.getRoot().getSection(), true), document.getKey());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void primitiveGettersReadUnboxedValues() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("basic.ds"));
+
+        final ConfigSection root = inscript.getRoot();
+        final ConfigSection snapshot = inscript.getSnapshot();
+
+        assertInstanceOf(IntScalarNode.class, root.getSection().getChild("count"));
+        assertEquals(100, root.getInt("count", 0));
+        assertEquals(-42, snapshot.getInt("negative", 0));
+        assertEquals(100_000L, root.getLong("big", 0));
+        assertEquals(10.5, snapshot.getDouble("ratio", 0));
+        assertTrue(root.getBoolean("enabled", false));
+        assertFalse(snapshot.getBoolean(ConfigPath.of("disabled"), true));
+
+        assertEquals(7, root.getInt("name", 7));
+        assertEquals(7, root.getInt("missing.key", 7));
+        assertEquals(7, root.getInt("..", 7));
+        assertEquals(100, root.getInt("count..", 7));
+
+        root.set("players.a.score", 3);
+        assertEquals(3, root.getInt("players.a.score", 0));
+        assertEquals(3, root.getInt("players.a.score.", 0));
+        assertEquals(0, root.getInt("players.a.score.x", 0));
+        assertEquals(7L, root.getLong("count", 7));
+
+        final ScalarNode<?> frozen = (ScalarNode<?>) snapshot.getSection().getChild("count");
+        assertTrue(frozen.isPrimitive());
+        assertEquals(100, frozen.getValue());
+    }
+
+    @Test
+    public void numericListsAreStoredAsPrimitiveArrays() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("lists.ds"));
+
+        final ConfigSection root = inscript.getRoot();
+        root.set("weights", new double[] {0.25, 0.75});
+
+        assertInstanceOf(IntList.class, root.get("inline", Object.class).orElseThrow());
+        assertArrayEquals(new int[] {1, 2, 3}, root.getIntArray("inline"));
+        assertArrayEquals(new long[] {10, 20}, inscript.getSnapshot().getLongArray("section.nested"));
+        assertEquals(List.of(1, 2, 3), root.getList("inline", Integer.class));
+        assertEquals(0, root.getIntArray("mixed").length);
+        assertEquals(0, root.getIntArray("missing").length);
+
+        for (final FileFormat format : List.of(FileFormats.DATASCRIPT, FileFormats.YAML, FileFormats.BINARY)) {
+            final Inscript reloaded = Inscript.newInscript(format);
+            reloaded.loadFromString(format.save(root));
+
+            assertInstanceOf(DoubleList.class, reloaded.getRoot().get("weights", Object.class).orElseThrow());
+            assertArrayEquals(new double[] {0.25, 0.75}, reloaded.getRoot().getDoubleArray("weights"));
+            assertArrayEquals(new long[] {10, 20}, reloaded.getRoot().getLongArray(ConfigPath.of("section.nested")));
+        }
+    }
+
+    @Test
+    public void loaderCollectsResultsPerFile() throws IOException {
+        final Path directory = Files.createTempDirectory("inscript");
+        final Path basic = Files.writeString(directory.resolve("basic.ds"), resource("basic.ds"));
+        final Path invalid = Files.writeString(directory.resolve("invalid.yml"), resource("invalid-indent.yml"));
+        final Path unknown = Files.writeString(directory.resolve("notes.txt"), "text");
+
+        final InscriptLoader.Result result = InscriptLoader.newLoader().loadAll(List.of(basic, invalid, unknown));
+        final List<InscriptLoader.FileResult> files = result.getFiles();
+
+        assertEquals(List.of(basic, invalid, unknown), files.stream().map(InscriptLoader.FileResult::getPath).toList());
+        assertTrue(files.get(0).isSuccessful());
+        assertEquals(100, files.get(0).getInscript().orElseThrow().getRoot().getInt("count", 0));
+        assertEquals(1, files.get(1).getErrors().size());
+        assertTrue(files.get(1).getInscript().isPresent());
+        assertTrue(files.get(2).getFailure().isPresent());
+
+        assertFalse(result.isSuccessful());
+        assertEquals(files.get(1).getErrors(), result.getErrors());
+        assertEquals(List.of(files.get(2)), result.getFailures());
+    }
+
+    @Test
+    public void streamingEventsTranscodeLikeTheTree() throws IOException {
+        final List<String> names = new ArrayList<>(YAML_CORPUS);
+        names.add("lists.yml");
+        names.addAll(DATASCRIPT_CORPUS);
+
+        for (final String name : names) {
+            final FileFormat from = name.endsWith(".yml") ? FileFormats.YAML : FileFormats.DATASCRIPT;
+            final Inscript inscript = Inscript.newInscript(from);
+            final List<ErrorContext> errors = from.load(new StringReader(resource(name)), inscript);
+
+            final StringWriter dataScript = new StringWriter();
+            assertEquals(errors.size(), from.parse(new StringReader(resource(name)), inscript, new DataScriptFormat().eventWriter(dataScript)).size(), name);
+            assertEquals(FileFormats.DATASCRIPT.save(inscript.getRoot()), dataScript.toString(), name);
+
+            final StringWriter yaml = new StringWriter();
+            assertEquals(errors.size(), from.parse(new StringReader(resource(name)), inscript, new YAMLFormat().eventWriter(yaml)).size(), name);
+            assertEquals(FileFormats.YAML.save(inscript.getRoot()), yaml.toString(), name);
+        }
+    }
+
+    @Test
+    public void binaryRoundTripsWithDataScript() throws IOException {
+        final Path directory = Files.createTempDirectory("inscript");
+
+        for (final String name : List.of("basic.ds", "nested.ds", "lists.ds")) {
+            final Inscript source = Inscript.newInscript(FileFormats.DATASCRIPT);
+            source.loadFromString(resource(name));
+
+            final Inscript binary = Inscript.newInscript(directory.resolve(name + "b"));
+            assertSame(FileFormats.BINARY, binary.getFormat());
+
+            binary.getRoot().copy(source.getRoot());
+            binary.saveToDisk();
+
+            final Inscript loaded = Inscript.newInscript(directory.resolve(name + "b"));
+            loaded.loadFromDisk();
+
+            final Inscript text = Inscript.newInscript(FileFormats.BINARY);
+            text.loadFromString(binary.saveToString());
+
+            final Inscript back = Inscript.newInscript(FileFormats.DATASCRIPT);
+            back.getRoot().copy(loaded.getRoot());
+
+            assertEquals(describe(source.getRoot().getSection(), true), describe(loaded.getRoot().getSection(), true), name);
+            assertEquals(describe(source.getRoot().getSection(), true), describe(text.getRoot().getSection(), true), name);
+            assertEquals(source.saveToString(), back.saveToString(), name);
+        }
+
+        final Inscript garbage = Inscript.newInscript(FileFormats.BINARY);
+        final List<ErrorContext> errors = FileFormats.BINARY.load(new ByteArrayInputStream(new byte[] {'I', 'N', 'S', 'B', 1, 0}), garbage);
+
+        assertEquals(1, errors.size());
+        assertTrue(garbage.getRoot().getChildren().isEmpty());
+    }
+
+    @Test
+    public void mappedBinaryFilesAreReadLazily() throws IOException {
+        final Path file = Files.createTempDirectory("inscript").resolve("nested.dsb");
+
+        final Inscript source = Inscript.newInscript(FileFormats.DATASCRIPT);
+        source.loadFromString(resource("nested.ds"));
+
+        final Inscript binary = Inscript.newInscript(file);
+        binary.getRoot().copy(source.getRoot());
+        binary.saveToDisk();
+
+        final Inscript mapped = Inscript.newMappedInscript(file);
+        final ConfigSection root = mapped.getRoot();
+
+        assertTrue(mapped.isReadOnly());
+        assertEquals(Optional.of(20), root.get("server.limits.maxPlayers", Integer.class));
+        assertEquals(Set.of("default port"), root.getInlineComments("server.port"));
+        assertSame(root, mapped.getSnapshot());
+        assertEquals(describe(source.getRoot().getSection(), true), describe(root.getSection(), true));
+
+        assertThrows(UnsupportedOperationException.class, () -> root.set("server.port", 1));
+        assertThrows(InscriptException.class, mapped::saveToDisk);
+        assertThrows(InscriptException.class, mapped::publish);
+    }
+
+    @Test
+    public void wideSectionsAreKeyIndexed() {
+        final ConfigSection root = Inscript.newInscript(FileFormats.DATASCRIPT).getRoot();
+
+        for (int i = 0; i < 10_000; i++) root.set("player" + i, i);
+
+        assertEquals(10_000, root.getKeys().size());
+        assertEquals(Optional.of(9_999), root.get("player9999", Integer.class));
+
+        root.set("player0", "replaced");
+        root.unset("player1");
+
+        assertEquals(Optional.of("replaced"), root.get("player0", String.class));
+        assertFalse(root.has("player1"));
+        assertEquals("player0", root.getKeys().iterator().next());
+        assertEquals(9_999, root.getSection().getChildren().size());
+
+        root.set("nested.value", 1);
+        root.set("nested.value", 2);
+
+        assertEquals(Optional.of(2), root.get("nested.value", Integer.class));
+        assertEquals(1, root.getSection("nested").orElseThrow().getChildren().size());
+    }
+
+    @Test
+    public void configPathsResolveLikeDottedKeys() {
+        final ConfigPath maxPlayers = ConfigPath.of("limits.maxPlayers");
+        assertSame(maxPlayers, ConfigPath.of("limits.maxPlayers"));
+        assertEquals(maxPlayers, ConfigPath.parse("limits.maxPlayers"));
+        assertEquals(2, ConfigPath.parse("a.b.").size());
+        assertEquals("", ConfigPath.parse("a..b").get(1));
+
+        final ConfigSection root = Inscript.newInscript(FileFormats.DATASCRIPT).getRoot();
+        root.set(maxPlayers, 20);
+
+        assertEquals(Optional.of(20), root.get("limits.maxPlayers", Integer.class));
+        assertEquals(Optional.of(20), root.get(maxPlayers, Integer.class));
+        assertTrue(root.isSection(ConfigPath.of("limits")));
+        assertTrue(root.isScalar(maxPlayers));
+
+        root.comment(maxPlayers, "Player cap");
+        assertEquals(Set.of("Player cap"), root.getComments("limits.maxPlayers"));
+
+        root.section(ConfigPath.of("limits.worlds"), worlds -> worlds.set("count", 3));
+        assertEquals(Optional.of(3), root.getSection(ConfigPath.of("limits.worlds")).orElseThrow().get("count", Integer.class));
+
+        root.unset(maxPlayers);
+        assertFalse(root.has(maxPlayers));
+        assertEquals(Optional.empty(), root.get(ConfigPath.of("missing.key"), Integer.class));
+    }
+
+    @Test
+    public void saveToDiskStreamsSameContentAsSaveToString() throws IOException {
+        final Path directory = Files.createTempDirectory("inscript");
+
+        for (final String name : List.of("nested.ds", "lists.yml")) {
+            final Path file = directory.resolve(name);
+            final Inscript inscript = Inscript.newInscript(file);
+            inscript.loadFromString(resource(name));
+
+            inscript.saveToDisk();
+
+            assertEquals(inscript.saveToString(), Files.readString(file), name);
+        }
+    }
+
+    @Test
+    public void asyncSavesCoalesceAndWriteSnapshots() throws IOException {
+        final Path file = Files.createTempDirectory("inscript").resolve("async.ds");
+        final Inscript inscript = Inscript.newInscript(file);
+        final Duration window = InscriptConstants.SAVE_WINDOW.getValue();
+        InscriptConstants.SAVE_WINDOW.edit(Duration.ofMillis(200));
+
+        try {
+            inscript.getRoot().set("count", 1);
+            final CompletableFuture<Void> first = inscript.saveAsync();
+            inscript.getRoot().set("count", 2);
+            final CompletableFuture<Void> second = inscript.saveAsync();
+            final String saved = inscript.saveToString();
+            inscript.getRoot().set("count", 3);
+
+            assertSame(first, second);
+            second.join();
+
+            assertEquals(saved, Files.readString(file));
+            assertArrayEquals(new String[] {"async.ds"}, file.getParent().toFile().list());
+        } finally {
+            InscriptConstants.SAVE_WINDOW.edit(window);
+        }
+    }
+
+    @Test
+    public void cleanConfigsAreNotSavedAndDirtyOnesReuseText() throws IOException {
+        final Path file = Files.createTempDirectory("inscript").resolve("dirty.ds");
+        Files.writeString(file, resource("nested.ds"));
+
+        final Inscript inscript = Inscript.newInscript(DataScriptFormat.lazy(), file);
+        inscript.loadFromDisk();
+        assertEquals(20, inscript.getRoot().getInt(ConfigPath.of("server.limits.maxPlayers"), 0));
+        assertFalse(inscript.isDirty());
+
+        Files.writeString(file, "untouched = true\n");
+        inscript.saveToDisk();
+        assertEquals("untouched = true\n", Files.readString(file));
+
+        final List<Consumer<ConfigSection>> edits = List.of(
+            root -> root.set(ConfigPath.of("server.limits.worlds.overworld.seed"), 1L),
+            root -> root.comment(ConfigPath.of("server.limits.worlds"), "edited"),
+            root -> root.set("after", "changed"),
+            root -> root.createSection(ConfigPath.of("server.limits.worlds.end")),
+            root -> root.unset(ConfigPath.of("server.port"))
+        );
+
+        for (final Consumer<ConfigSection> edit : edits) {
+            edit.accept(inscript.getRoot());
+            assertTrue(inscript.isDirty());
+
+            inscript.saveToDisk();
+            assertFalse(inscript.isDirty());
+            assertEquals(inscript.saveToString(), Files.readString(file));
+        }
+    }
+
+    @Test
+    public void inlineValuesAreRecognizedInOnePass() {
+        final ValueRegistry registry = ValueRegistry.REGISTRY;
+
+        assertEquals(42, registry.recognize("42"));
+
+        registry.register(Number.class, InlineValue.<Number>builder()
+            .matches(text -> text.startsWith("num("))
+            .deserialize(text -> Double.parseDouble(text.substring(4, text.length() - 1)))
+            .serialize(number -> "num(" + number + ")")
+            .build());
+
+        assertSame(ValueRegistry.BUILTIN.getInline(Integer.class).orElseThrow(), registry.getInline(Integer.class).orElseThrow());
+        assertEquals("num(3)", registry.<AtomicInteger>getInline(AtomicInteger.class).orElseThrow().serialize(new AtomicInteger(3)));
+        assertEquals(-7, registry.recognize("-7"));
+        assertEquals("2147483648", registry.recognize("2147483648"));
+        assertEquals((byte) -128, registry.recognize("-128B"));
+        assertEquals("128B", registry.recognize("128B"));
+        assertEquals((short) 5, registry.recognize("5S"));
+        assertEquals(Long.MIN_VALUE, registry.recognize("-9223372036854775808L"));
+        assertEquals(1.5e3, registry.recognize("1.5e3D"));
+        assertEquals(Double.NaN, registry.recognize("NaND"));
+        assertEquals(.5F, registry.recognize(".5F"));
+        assertEquals("1.2.3D", registry.recognize("1.2.3D"));
+        assertEquals(true, registry.recognize("TRUE"));
+        assertEquals('x', registry.recognize("'x'C"));
+        assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), registry.recognize("uuid(123e4567-e89b-12d3-a456-426614174000)"));
+        assertEquals("uuid(nope)", registry.recognize("uuid(nope)"));
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) registry.recognize("base64(AQID)"));
+        assertEquals("quoted", registry.recognize("'quoted'"));
+        assertEquals("", registry.recognize(""));
+
+        registry.register(Version.class, InlineValue.builder(Version.class)
+            .prefix("ver(")
+            .suffix(")")
+            .matches(text -> text.startsWith("ver(") && text.endsWith(")"))
+            .deserialize(text -> new Version(text.substring(4, text.length() - 1)))
+            .serialize(version -> "ver(" + version.name() + ")")
+            .build());
+
+        assertEquals(new Version("1.0"), registry.recognize("ver(1.0)"));
+        assertEquals("ver(", registry.recognize("ver("));
+
+        final Map<Class<?>, InlineValue<?>> inline = registry.getInlineRegistry();
+        assertSame(inline, registry.getInlineRegistry());
+        assertThrows(UnsupportedOperationException.class, () -> inline.remove(Version.class));
+
+        assertTrue(registry.getInline(Tag.class).isEmpty());
+
+        registry.register(Named.class, InlineValue.<Named>builder()
+            .matches(text -> text.startsWith("named("))
+            .deserialize(text -> () -> text.substring(6, text.length() - 1))
+            .serialize(named -> "named(" + named.name() + ")")
+            .build());
+
+        assertNotSame(inline, registry.getInlineRegistry());
+        assertSame(registry.getInline(Named.class).orElseThrow(), registry.getInline(Tag.class).orElseThrow());
+
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.getRoot().set("tag", new Tag("3.0"));
+        assertEquals("tag = named(3.0)", inscript.saveToString().strip());
+    }
+
+    @Test
+    public void scopedRegistriesLayerOverTheirParent() throws IOException {
+        final ValueRegistry registry = ValueRegistry.newRegistry();
+        final ValueRegistry nested = ValueRegistry.newRegistry(registry);
+        assertEquals("scoped(b)", nested.recognize("scoped(b)"));
+
+        registry.register(Scoped.class, InlineValue.builder(Scoped.class)
+            .prefix("scoped(")
+            .suffix(")")
+            .matches(text -> text.startsWith("scoped(") && text.endsWith(")"))
+            .deserialize(text -> new Scoped(text.substring(7, text.length() - 1)))
+            .serialize(scoped -> "scoped(" + scoped.name() + ")")
+            .build());
+
+        assertSame(ValueRegistry.REGISTRY, registry.getParent().orElseThrow());
+        assertTrue(ValueRegistry.REGISTRY.getInline(Scoped.class).isEmpty());
+        assertEquals(new Scoped("b"), nested.recognize("scoped(b)"));
+        assertEquals(42, registry.recognize("42"));
+
+        registry.register(Number.class, InlineValue.<Number>builder()
+            .matches(text -> text.startsWith("num("))
+            .deserialize(text -> Double.parseDouble(text.substring(4, text.length() - 1)))
+            .serialize(number -> "num(" + number + ")")
+            .build());
+
+        assertSame(ValueRegistry.BUILTIN.getInline(Integer.class).orElseThrow(), registry.getInline(Integer.class).orElseThrow());
+        assertEquals("num(3)", registry.<AtomicInteger>getInline(AtomicInteger.class).orElseThrow().serialize(new AtomicInteger(3)));
+
+        assertTrue(ValueRegistry.BUILTIN.isFrozen());
+        assertThrows(InscriptException.class, () -> ValueRegistry.BUILTIN.register(Scoped.class, registry.<Scoped>getInline(Scoped.class).orElseThrow()));
+
+        for (final FileFormat format : List.of(FileFormats.DATASCRIPT, FileFormats.YAML, FileFormats.BINARY)) {
+            final Inscript inscript = Inscript.builder().format(format).registry(registry).build();
+            assertSame(registry, inscript.getRoot().getValueRegistry());
+
+            inscript.getRoot().set("value", new Scoped("a"));
+            final String saved = inscript.saveToString();
+
+            final Inscript loaded = Inscript.builder().format(format).registry(registry).build();
+            loaded.loadFromString(saved);
+            assertEquals(Optional.of(new Scoped("a")), loaded.getRoot().get("value", Scoped.class));
+
+            final Inscript global = Inscript.newInscript(format);
+            global.loadFromString(saved);
+            assertEquals(Optional.of("scoped(a)"), global.getRoot().get("value", Object.class));
+        }
+
+        final Path file = Files.createTempDirectory("inscript").resolve("scoped.dsb");
+        final Inscript binary = Inscript.builder().path(file).format(FileFormats.BINARY).registry(registry).build();
+        binary.getRoot().set("value", new Scoped("a"));
+        binary.saveToDisk();
+
+        final Inscript mapped = Inscript.builder().path(file).registry(registry).buildMapped();
+        assertSame(registry, mapped.getRoot().getValueRegistry());
+        assertEquals(Optional.of(new Scoped("a")), mapped.getRoot().get("value", Scoped.class));
+        assertEquals(Optional.of("scoped(a)"), Inscript.newMappedInscript(file).getRoot().get("value", Object.class));
+    }
+
+    @Test
+    public void snapshotsAreImmutableAndShareUnchangedSections() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("nested.ds"));
+
+        final ConfigSection first = inscript.getSnapshot();
+        assertEquals(Optional.of(20), first.get("server.limits.maxPlayers", Integer.class));
+        assertThrows(UnsupportedOperationException.class, () -> first.set("server.port", 1));
+        assertThrows(UnsupportedOperationException.class, () -> first.getSection().getComments().add("comment"));
+
+        final ConfigSection second = inscript.update(root -> root.set("server.motd", "Changed"));
+
+        assertEquals(Optional.of("Welcome"), first.get("server.motd", String.class));
+        assertEquals(Optional.of("Changed"), second.get("server.motd", String.class));
+        assertSame(first.getSection("server.limits").orElseThrow().getSection(), second.getSection("server.limits").orElseThrow().getSection());
+        assertSame(second, inscript.publish());
+
+        inscript.getRoot().comment("server.limits.maxPlayers", "cap");
+        assertNotSame(second.getSection("server.limits").orElseThrow().getSection(), inscript.publish().getSection("server.limits").orElseThrow().getSection());
+
+        final byte[] bytes = {1, 2, 3};
+        final ConfigSection withBytes = inscript.update(root -> root.set("bytes", bytes));
+        bytes[0] = 9;
+
+        assertArrayEquals(new byte[] {1, 2, 3}, withBytes.get("bytes", byte[].class).orElseThrow());
+        assertEquals(Set.of(ConfigPath.of("bytes")), ConfigDiff.between(withBytes, inscript.publish()).getPaths());
+    }
+
+    @Test
+    public void reloadingNeverPublishesAnEmptySnapshot() throws Exception {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        final String content = resource("nested.ds");
+        inscript.loadFromString(content);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger misses = new AtomicInteger();
+
+        final Thread reader = new Thread(() -> {
+            while (running.get()) {
+                if (inscript.getSnapshot().get("server.limits.maxPlayers", Integer.class).isEmpty()) misses.incrementAndGet();
+            }
+        });
+
+        reader.start();
+        for (int i = 0; i < 500; i++) inscript.loadFromString(content);
+        running.set(false);
+        reader.join();
+
+        assertEquals(0, misses.get());
+    }
+
+    @Test
+    public void watcherReloadsChangedFiles() throws Exception {
+        final Path file = Files.createTempDirectory("inscript").resolve("watched.ds");
+        Files.writeString(file, "limits {\n  maxPlayers = 20\n  motd = 'Hi'\n}\n");
+
+        final Inscript inscript = Inscript.newInscript(file);
+        inscript.loadFromDisk();
+
+        final BlockingQueue<Set<ConfigPath>> reloads = new LinkedBlockingQueue<>();
+
+        final Path broken = file.resolveSibling("broken.dsb");
+        final BlockingQueue<ErrorContext> errors = new LinkedBlockingQueue<>();
+
+        try (final InscriptWatcher watcher = InscriptWatcher.newWatcher(Duration.ofMillis(50))) {
+            watcher.onError(errors::add);
+            watcher.watch(inscript, (source, changed) -> reloads.add(changed));
+            watcher.watch(Inscript.newInscript(broken));
+            assertThrows(InscriptException.class, () -> watcher.watch(Inscript.newInscript(file)));
+
+            Files.writeString(file, "limits {\n  maxPlayers = 40\n  motd = 'Hi'\n}\nextra = true\n");
+
+            assertEquals(Set.of(ConfigPath.of("limits.maxPlayers"), ConfigPath.of("extra")), reloads.poll(10, TimeUnit.SECONDS));
+            assertEquals(Optional.of(40), inscript.getSnapshot().get("limits.maxPlayers", Integer.class));
+
+            // Same size, and possibly the same modification time.
+            Files.writeString(file, "limits {\n  maxPlayers = 41\n  motd = 'Hi'\n}\nextra = true\n");
+            assertEquals(Set.of(ConfigPath.of("limits.maxPlayers")), reloads.poll(10, TimeUnit.SECONDS));
+
+            Files.writeString(broken, "not a binary document");
+            assertTrue(errors.poll(10, TimeUnit.SECONDS).getError().startsWith("Malformed binary document"));
+
+            // The Inscript's own save is not a change, and edits made after it survive.
+            inscript.getRoot().set("extra", false);
+            inscript.saveToDisk();
+            inscript.getRoot().set("unsaved", 3);
+
+            assertNull(reloads.poll(500, TimeUnit.MILLISECONDS));
+            assertTrue(errors.isEmpty());
+            assertEquals(3, inscript.getRoot().getInt("unsaved", 0));
+            assertTrue(inscript.isDirty());
+
+            // Neither is an outside edit while there are unsaved changes; it is reported instead.
+            Files.writeString(file, "limits {\n  maxPlayers = 50\n}\n");
+            assertTrue(errors.poll(10, TimeUnit.SECONDS).getError().startsWith("Skipped reload"));
+            assertEquals(3, inscript.getRoot().getInt("unsaved", 0));
+        }
+    }
+
+    @Test
+    public void diffsReportChangesByPath() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("nested.ds"));
+
+        final List<ConfigDiff> limits = new ArrayList<>();
+        final List<ConfigDiff> host = new ArrayList<>();
+        inscript.onChange(ConfigPath.of("server.limits"), limits::add);
+        inscript.onChange(ConfigPath.of("server.host"), host::add);
+
+        final ConfigSection before = inscript.getSnapshot();
+        final ConfigSection after = inscript.update(root -> {
+            root.set("server.limits.maxPlayers", 40);
+            root.comment("server.port", "changed comment");
+            root.unset("after");
+            root.set("added.key", true);
+        });
+
+        final ConfigDiff diff = ConfigDiff.between(before, after);
+        final Map<ConfigPath, ConfigDiff.Type> types = new LinkedHashMap<>();
+        for (final ConfigDiff.Change change : diff.getChanges()) types.put(change.path(), change.type());
+
+        assertEquals(Map.of(
+            ConfigPath.of("server.port"), ConfigDiff.Type.COMMENTED,
+            ConfigPath.of("server.limits.maxPlayers"), ConfigDiff.Type.CHANGED,
+            ConfigPath.of("after"), ConfigDiff.Type.REMOVED,
+            ConfigPath.of("added"), ConfigDiff.Type.ADDED
+        ), types);
+
+        assertEquals(1, limits.size());
+        assertEquals(Set.of(ConfigPath.of("server.limits.maxPlayers")), limits.get(0).getPaths());
+        assertTrue(host.isEmpty());
+
+        inscript.update(root -> root.unset("server"));
+        assertEquals(2, limits.size());
+        assertEquals(1, host.size());
+        assertTrue(ConfigDiff.between(after, after).isEmpty());
+
+        final ConfigSection colliding = inscript.update(root -> root.set("text", "Aa"));
+        assertEquals(Set.of(ConfigPath.of("text")), ConfigDiff.between(colliding, inscript.update(root -> root.set("text", "BB"))).getPaths());
+
+        final ConfigSection number = inscript.update(root -> root.set("number", 1));
+        assertEquals(Set.of(ConfigPath.of("number")), ConfigDiff.between(number, inscript.update(root -> root.set("number", 1L))).getPaths());
+    }
+
+    @Test
+    public void generatedValuesBindRecordsAndClasses() {
+        assertTrue(ValueRegistry.REGISTRY.getInscript(Server.class).isPresent());
+
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        final Server server = new Server("play.example.com", 25566, new Limits(20, 0.25, false), List.of("Hello", "World"), new int[] {1, 2}, UUID.randomUUID());
+
+        final Account account = new Account();
+        account.name = "Steve";
+        account.setBalance(150L);
+
+        inscript.getRoot().set("server", server).set("account", account);
+
+        final Inscript loaded = Inscript.newInscript(FileFormats.DATASCRIPT);
+        loaded.loadFromString(inscript.saveToString());
+
+        final Server read = loaded.getRoot().get("server", Server.class).orElseThrow();
+        assertEquals(server.host(), read.host());
+        assertEquals(server.port(), read.port());
+        assertEquals(server.limits(), read.limits());
+        assertEquals(server.motd(), read.motd());
+        assertArrayEquals(server.ports(), read.ports());
+        assertEquals(server.owner(), read.owner());
+
+        final Account readAccount = loaded.getRoot().get("account", Account.class).orElseThrow();
+        assertEquals("Steve", readAccount.name);
+        assertEquals(150L, readAccount.getBalance());
+
+        loaded.loadFromString("server {\n  host = 'localhost'\n  limits {\n    maxPlayers = 5\n  }\n}\nbroken {\n  port = 1\n}\n");
+        final Server defaults = loaded.getRoot().get("server", Server.class).orElseThrow();
+        assertEquals(25565, defaults.port());
+        assertEquals(new Limits(5, 0.5, true), defaults.limits());
+        assertEquals(List.of(), defaults.motd());
+        assertEquals(0, defaults.ports().length);
+        assertNull(defaults.owner());
+        assertTrue(loaded.getRoot().get("broken", Server.class).isEmpty());
+    }
+
+    @Test
+    public void unregisteredRecordsBindAtRuntime() {
+        final Inscript inscript = Inscript.newInscript(FileFormats.YAML);
+        final Warp warp = new Warp("spawn", new Point(1.5, -2), List.of("safe"), new long[] {7L}, 3);
+
+        inscript.getRoot().set("warp", warp);
+
+        final Inscript loaded = Inscript.newInscript(FileFormats.YAML);
+        loaded.loadFromString(inscript.saveToString());
+
+        final Warp read = loaded.getRoot().get("warp", Warp.class).orElseThrow();
+        assertEquals(warp.name(), read.name());
+        assertEquals(warp.point(), read.point());
+        assertEquals(warp.flags(), read.flags());
+        assertArrayEquals(warp.cost(), read.cost());
+        assertEquals(3, read.uses());
+
+        loaded.getRoot().unset("warp.point");
+        assertTrue(loaded.getRoot().get("warp", Warp.class).isEmpty());
+    }
+
+    @Test
+    public void boundValuesFollowSetsUnsetsAndReloads() throws IOException {
+        final Inscript inscript = Inscript.newInscript(FileFormats.DATASCRIPT);
+        inscript.loadFromString(resource("nested.ds"));
+
+        final ConfigValue<Integer> maxPlayers = inscript.getRoot().bind("server.limits.maxPlayers", Integer.class, 20);
+        final ConfigValue<Point> point = inscript.getRoot().bind("spawn", Point.class, new Point(0, 0));
+        final int loaded = inscript.getRoot().getInt("server.limits.maxPlayers", -1);
+
+        assertEquals(loaded, maxPlayers.get());
+        assertSame(maxPlayers.get(), maxPlayers.get());
+        assertEquals(new Point(0, 0), point.get());
+
+        inscript.getRoot().set("server.limits.maxPlayers", loaded + 1);
+        assertEquals(loaded + 1, maxPlayers.get());
+
+        inscript.getRoot().unset("server.limits");
+        assertEquals(20, maxPlayers.get());
+
+        inscript.getRoot().set("spawn", new Point(1, 2));
+        assertEquals(new Point(1, 2), point.get());
+        inscript.getRoot().set("spawn.z", 5.0);
+        assertEquals(new Point(1, 5), point.get());
+
+        inscript.loadFromString(resource("nested.ds"));
+        assertEquals(loaded, maxPlayers.get());
+        assertEquals(new Point(0, 0), point.get());
+
+        final ConfigValue<Integer> published = inscript.bind("server.limits.maxPlayers", Integer.class, 20);
+        assertEquals(loaded, published.get());
+        assertSame(published.get(), published.get());
+
+        inscript.getRoot().set("server.limits.maxPlayers", loaded + 2);
+        assertEquals(loaded, published.get());
+        inscript.publish();
+        assertEquals(loaded + 2, published.get());
+
+        inscript.loadFromString(resource("nested.ds"));
+        assertEquals(loaded, published.get());
+    }
+
+    private static void assertMatchesLegacy(final FileFormat format, final String name, final String content) {
+        final List<String> lines = content.lines().toList();
+
+        final Inscript legacy = Inscript.newInscript(format);
+        final List<ErrorContext> legacyErrors = loadLegacy(legacy, lines);
+
+        final Inscript streamed = Inscript.newInscript(format);
+        final List<ErrorContext> streamedErrors = format.load(InscriptReader.reader(lines), streamed);
+
+        assertEquals(describe(legacyErrors), describe(streamedErrors), name);
+
+        if (legacyErrors.isEmpty()) {
+            assertEquals(describe(legacy.getRoot().getSection(), false), describe(streamed.getRoot().getSection(), false), name);
+        }
+    }
+
+    private static List<ErrorContext> loadLegacy(final Inscript inscript, final List<String> lines) {
+        final InscriptReader reader = InscriptReader.reader(lines);
+        final Set<Integer> processedLines = new LinkedHashSet<>();
+        final List<ErrorContext> errors = new ArrayList<>();
+
+        for (int position = 0; position < lines.size(); position++) {
+            if (processedLines.contains(position)) continue;
+
+            final String line = reader.read(position);
+            if (line.isBlank()) {
+                processedLines.add(position);
+                continue;
+            }
+
+            inscript.getFormat()
+                .parseNode(new Line(position, line), reader, inscript, new ParseNodeContext(0, Set.of(), inscript.getRoot().getSection()), processedLines)
+                .ifPresent(errors::add);
+        }
+
+        return errors;
+    }
+
+    private static String describe(final List<ErrorContext> errors) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (final ErrorContext error : errors) {
+            builder.append(error.getPosition()).append(": ").append(error.getError()).append(" @ ").append(error.getLine()).append('\n');
+        }
+
+        return builder.toString();
+    }
+
+    private static String describe(final SectionNode section, final boolean comments) {
+        final StringBuilder builder = new StringBuilder();
+        describe(builder, section, comments, 0);
+        return builder.toString();
+    }
+
+    private static void describe(final StringBuilder builder, final ConfigNode node, final boolean comments, final int depth) {
+        builder.append("  ".repeat(depth));
+
+        if (comments) builder.append(node.getComments());
+        builder.append(node.getKey()).append(node.getInlineComments());
+
+        if (node instanceof SectionNode section) {
+            builder.append(" {\n");
+            for (final ConfigNode child : section.getChildren()) describe(builder, child, comments, depth + 1);
+            builder.append("  ".repeat(depth)).append("}\n");
+        } else if (node instanceof ScalarNode<?> scalar) {
+            builder.append(" = ").append(describeValue(scalar.getValue())).append('\n');
+        }
+    }
+
+    private static String describeValue(final Object value) {
+        if (value instanceof byte[] bytes) return "byte[]" + Arrays.toString(bytes);
+
+        if (value instanceof List<?> list) {
+            final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (final Object element : list) joiner.add(describeValue(element));
+            return joiner.toString();
+        }
+
+        return value.getClass().getSimpleName() + "(" + value + ")";
+    }
+
+    private static String generateDeep(final int depth) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < depth; i++) {
+            builder.append("  ".repeat(i)).append("level").append(i).append(" {\n");
+            builder.append("  ".repeat(i + 1)).append("value = ").append(i).append('\n');
+        }
+
+        for (int i = depth - 1; i >= 0; i--) {
+            builder.append("  ".repeat(i + 1)).append("after").append(i).append(" = ").append(i).append("L\n");
+            builder.append("  ".repeat(i)).append("}\n");
+        }
+
+        return builder.toString();
+    }
+
+    private static String generateWide(final int keys) {
+        final StringBuilder builder = new StringBuilder("players {\n");
+
+        for (int i = 0; i < keys; i++) {
+            builder.append("  player").append(i).append(" {\n");
+            builder.append("    name = 'Player").append(i).append("'\n");
+            builder.append("    score = ").append(i * 7).append('\n');
+            builder.append("    ratio = ").append(i / 3.0).append("D\n");
+            builder.append("    tags = [\n      'a',\n      'b'\n    ]\n");
+            builder.append("  }\n");
+        }
+
+        return builder.append("}\n").toString();
+    }
+
+    private record Version(String name) {}
+
+    private interface Named {
+        String name();
+    }
+
+    private record Tag(String name) implements Named {}
+
+    private record Scoped(String name) {}
+
+    private record Warp(String name, Point point, List<String> flags, long[] cost, int uses) {}
+
+    private record Point(double x, double z) {}
+
+    @GenerateValue
+    record Server(String host, @Default("25565") int port, Limits limits, List<String> motd, int[] ports, @Nullable UUID owner) {}
+
+    @GenerateValue
+    record Limits(int maxPlayers, @Default("0.5") double ratio, @Default("true") boolean whitelist) {}
+
+    @GenerateValue
+    static class Account {
+        String name;
+        private long balance;
+
+        public long getBalance() {
+            return balance;
+        }
+
+        public void setBalance(final long balance) {
+            this.balance = balance;
+        }
+    }
+
+    private static String resource(final String name) throws IOException {
+        try (final InputStream stream = InscriptTest.class.getResourceAsStream("/corpus/" + name)) {
+            assertNotNull(stream, name);
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }